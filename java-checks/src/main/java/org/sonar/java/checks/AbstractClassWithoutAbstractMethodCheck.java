@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.ClassTreeImpl;
 import org.sonar.java.resolve.Symbol;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -36,7 +37,7 @@ import java.util.Collection;
     key = AbstractClassWithoutAbstractMethodCheck.RULE_KEY,
     priority = Priority.MAJOR,
     tags = {"convention"})
-public class AbstractClassWithoutAbstractMethodCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class AbstractClassWithoutAbstractMethodCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1694";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
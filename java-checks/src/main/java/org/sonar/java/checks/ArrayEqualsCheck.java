@@ -23,6 +23,7 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.java.resolve.Type;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -37,7 +38,7 @@ import org.sonar.plugins.java.api.tree.Tree;
     priority = Priority.CRITICAL,
     tags = {"convention"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.CRITICAL)
-public class ArrayEqualsCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class ArrayEqualsCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1294";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
@@ -30,8 +30,6 @@ import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.Modifier;
 import org.sonar.plugins.java.api.tree.Tree;
 
-import java.util.regex.Pattern;
-
 @Rule(
   key = BadAbstractClassName_S00118_Check.RULE_KEY,
   priority = Priority.MAJOR,
@@ -48,13 +46,13 @@ public class BadAbstractClassName_S00118_Check extends BaseTreeVisitor implement
     defaultValue = "" + DEFAULT_FORMAT)
   public String format = DEFAULT_FORMAT;
 
-  private Pattern pattern = null;
+  private NamingPattern pattern = null;
   private JavaFileScannerContext context;
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
-      pattern = Pattern.compile(format, Pattern.DOTALL);
+      pattern = NamingPattern.compile(format);
     }
     this.context = context;
     scan(context.getTree());
@@ -63,7 +61,7 @@ public class BadAbstractClassName_S00118_Check extends BaseTreeVisitor implement
   @Override
   public void visitClass(ClassTree tree) {
     if (tree.is(Tree.Kind.CLASS) && tree.simpleName() != null) {
-      if (pattern.matcher(tree.simpleName().name()).matches()) {
+      if (pattern.matches(tree.simpleName().name())) {
         if (!isAbstract(tree)) {
           context.addIssue(tree, ruleKey, "Make this class abstract or rename it, since it matches the regular expression '" + format + "'.");
         }
@@ -30,8 +30,6 @@ import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
-import java.util.regex.Pattern;
-
 @Rule(
   key = BadClassName_S00101_Check.RULE_KEY,
   priority = Priority.MAJOR,
@@ -49,13 +47,13 @@ public class BadClassName_S00101_Check extends BaseTreeVisitor implements JavaFi
     defaultValue = "" + DEFAULT_FORMAT)
   public String format = DEFAULT_FORMAT;
 
-  private Pattern pattern = null;
+  private NamingPattern pattern = null;
   private JavaFileScannerContext context;
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
-      pattern = Pattern.compile(format, Pattern.DOTALL);
+      pattern = NamingPattern.compile(format);
     }
     this.context = context;
     scan(context.getTree());
@@ -63,7 +61,7 @@ public class BadClassName_S00101_Check extends BaseTreeVisitor implements JavaFi
 
   @Override
   public void visitClass(ClassTree tree) {
-    if (tree.is(Tree.Kind.CLASS) && tree.simpleName() != null && !pattern.matcher(tree.simpleName().name()).matches()) {
+    if (tree.is(Tree.Kind.CLASS) && tree.simpleName() != null && !pattern.matches(tree.simpleName().name())) {
       context.addIssue(tree, ruleKey, "Rename this class name to match the regular expression '" + format + "'.");
     }
 
@@ -32,8 +32,6 @@ import org.sonar.plugins.java.api.tree.Modifier;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
-import java.util.regex.Pattern;
-
 @Rule(
   key = BadConstantName_S00115_Check.RULE_KEY,
   priority = Priority.MAJOR,
@@ -51,13 +49,13 @@ public class BadConstantName_S00115_Check extends BaseTreeVisitor implements Jav
     defaultValue = "" + DEFAULT_FORMAT)
   public String format = DEFAULT_FORMAT;
 
-  private Pattern pattern = null;
+  private NamingPattern pattern = null;
   private JavaFileScannerContext context;
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
-      pattern = Pattern.compile(format, Pattern.DOTALL);
+      pattern = NamingPattern.compile(format);
     }
     this.context = context;
     scan(context.getTree());
@@ -81,7 +79,7 @@ public class BadConstantName_S00115_Check extends BaseTreeVisitor implements Jav
   }
 
   private void checkName(VariableTree variableTree) {
-    if (!SerializableContract.SERIAL_VERSION_UID_FIELD.equals(variableTree.simpleName().name()) && !pattern.matcher(variableTree.simpleName().name()).matches()) {
+    if (!SerializableContract.SERIAL_VERSION_UID_FIELD.equals(variableTree.simpleName().name()) && !pattern.matches(variableTree.simpleName().name())) {
       context.addIssue(variableTree, ruleKey, "Rename this constant name to match the regular expression '" + format + "'.");
     }
   }
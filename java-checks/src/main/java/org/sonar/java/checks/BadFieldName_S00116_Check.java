@@ -32,8 +32,6 @@ import org.sonar.plugins.java.api.tree.Modifier;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
-import java.util.regex.Pattern;
-
 @Rule(
   key = BadFieldName_S00116_Check.RULE_KEY,
   priority = Priority.MAJOR,
@@ -51,13 +49,13 @@ public class BadFieldName_S00116_Check extends BaseTreeVisitor implements JavaFi
     defaultValue = "" + DEFAULT_FORMAT)
   public String format = DEFAULT_FORMAT;
 
-  private Pattern pattern = null;
+  private NamingPattern pattern = null;
   private JavaFileScannerContext context;
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
-      pattern = Pattern.compile(format, Pattern.DOTALL);
+      pattern = NamingPattern.compile(format);
     }
     this.context = context;
     scan(context.getTree());
@@ -68,7 +66,7 @@ public class BadFieldName_S00116_Check extends BaseTreeVisitor implements JavaFi
     for (Tree member : tree.members()) {
       if ((tree.is(Tree.Kind.CLASS) || tree.is(Tree.Kind.ENUM)) && member.is(Tree.Kind.VARIABLE)) {
         VariableTree field = (VariableTree) member;
-        if (isNotStatic(field) && !pattern.matcher(field.simpleName().name()).matches()) {
+        if (isNotStatic(field) && !pattern.matches(field.simpleName().name())) {
           context.addIssue(field, ruleKey, "Rename this field name to match the regular expression '" + format + "'.");
         }
       }
@@ -31,8 +31,6 @@ import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
-import java.util.regex.Pattern;
-
 @Rule(
   key = BadLocalVariableName_S00117_Check.RULE_KEY,
   priority = Priority.MAJOR,
@@ -50,13 +48,13 @@ public class BadLocalVariableName_S00117_Check  extends BaseTreeVisitor implemen
     defaultValue = "" + DEFAULT_FORMAT)
   public String format = DEFAULT_FORMAT;
 
-  private Pattern pattern = null;
+  private NamingPattern pattern = null;
   private JavaFileScannerContext context;
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
-      pattern = Pattern.compile(format, Pattern.DOTALL);
+      pattern = NamingPattern.compile(format);
     }
     this.context = context;
     scan(context.getTree());
@@ -76,7 +74,7 @@ public class BadLocalVariableName_S00117_Check  extends BaseTreeVisitor implemen
 
   @Override
   public void visitVariable(VariableTree tree) {
-    if (!pattern.matcher(tree.simpleName().name()).matches()) {
+    if (!pattern.matches(tree.simpleName().name())) {
       context.addIssue(tree, ruleKey, "Rename this local variable name to match the regular expression '" + format + "'.");
     }
     super.visitVariable(tree);
@@ -25,20 +25,20 @@ import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.MethodTreeImpl;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 @Rule(
     key = "S00100",
     priority = Priority.MAJOR,
     tags = {"convention"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.MAJOR)
-public class BadMethodName_S00100_Check extends SubscriptionBaseVisitor {
+public class BadMethodName_S00100_Check extends SubscriptionBaseVisitor implements SemanticAwareVisitor {
 
   private static final String DEFAULT_FORMAT = "^[a-z][a-zA-Z0-9]*$";
 
@@ -47,7 +47,7 @@ public class BadMethodName_S00100_Check extends SubscriptionBaseVisitor {
       defaultValue = "" + DEFAULT_FORMAT)
   public String format = DEFAULT_FORMAT;
 
-  private Pattern pattern = null;
+  private NamingPattern pattern = null;
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -57,7 +57,7 @@ public class BadMethodName_S00100_Check extends SubscriptionBaseVisitor {
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
-      pattern = Pattern.compile(format, Pattern.DOTALL);
+      pattern = NamingPattern.compile(format);
     }
     super.scanFile(context);
   }
@@ -66,7 +66,7 @@ public class BadMethodName_S00100_Check extends SubscriptionBaseVisitor {
   @Override
   public void visitNode(Tree tree) {
     MethodTree methodTree = (MethodTree) tree;
-    if (isNotOverriden(methodTree) && !pattern.matcher(methodTree.simpleName().name()).matches()) {
+    if (isNotOverriden(methodTree) && !pattern.matches(methodTree.simpleName().name())) {
       addIssue(tree, "Rename this method name to match the regular expression '" + format + "'.");
     }
   }
@@ -30,7 +30,6 @@ import org.sonar.plugins.java.api.tree.*;
 
 import java.util.Deque;
 import java.util.LinkedList;
-import java.util.regex.Pattern;
 
 @Rule(
   key = "S00120",
@@ -49,13 +48,13 @@ public class BadPackageName_S00120_Check extends BaseTreeVisitor implements Java
     defaultValue = DEFAULT_FORMAT)
   public String format = DEFAULT_FORMAT;
 
-  private Pattern pattern = null;
+  private NamingPattern pattern = null;
   private JavaFileScannerContext context;
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     if (pattern == null) {
-      pattern = Pattern.compile(format, Pattern.DOTALL);
+      pattern = NamingPattern.compile(format);
     }
     this.context = context;
     scan(context.getTree());
@@ -65,7 +64,7 @@ public class BadPackageName_S00120_Check extends BaseTreeVisitor implements Java
   public void visitCompilationUnit(CompilationUnitTree tree) {
     if (tree.packageName() != null) {
       String name = concatenate(tree.packageName());
-      if (!pattern.matcher(name).matches()) {
+      if (!pattern.matches(name)) {
         context.addIssue(tree, ruleKey, "Rename this package name to match the regular expression '" + format + "'.");
       }
     }
@@ -30,7 +30,6 @@ import org.sonar.plugins.java.api.tree.Tree.Kind;
 import org.sonar.plugins.java.api.tree.TypeParameterTree;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 @Rule(
     key = "S00119",
@@ -45,7 +44,7 @@ public class BadTypeParameterName_S00119_Check extends SubscriptionBaseVisitor {
       key = "format",
       defaultValue = "" + DEFAULT_FORMAT)
   public String format = DEFAULT_FORMAT;
-  private Pattern pattern = null;
+  private NamingPattern pattern = null;
 
   @Override
   public List<Kind> nodesToVisit() {
@@ -54,14 +53,16 @@ public class BadTypeParameterName_S00119_Check extends SubscriptionBaseVisitor {
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
-    pattern = Pattern.compile(format, Pattern.DOTALL);
+    if (pattern == null) {
+      pattern = NamingPattern.compile(format);
+    }
     super.scanFile(context);
   }
 
   @Override
   public void visitNode(Tree tree) {
     String name = ((TypeParameterTree) tree).identifier().name();
-    if (!pattern.matcher(name).matches()) {
+    if (!pattern.matches(name)) {
       addIssue(tree, "Rename this generic name to match the regular expression '" + format + "'.");
     }
   }
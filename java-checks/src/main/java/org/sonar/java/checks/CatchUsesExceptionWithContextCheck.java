@@ -27,6 +27,7 @@ import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.java.resolve.Symbol;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -52,7 +53,7 @@ import java.util.List;
     priority = Priority.MAJOR,
     tags = {"error-handling"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.MAJOR)
-public class CatchUsesExceptionWithContextCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class CatchUsesExceptionWithContextCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1166";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
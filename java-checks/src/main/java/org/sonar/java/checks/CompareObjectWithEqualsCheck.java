@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.java.model.declaration.MethodTreeImpl;
 import org.sonar.java.resolve.Symbol;
@@ -38,7 +39,7 @@ import org.sonar.plugins.java.api.tree.Tree;
     key = CompareObjectWithEqualsCheck.RULE_KEY,
     priority = Priority.MAJOR,
     tags = {"error-handling"})
-public class CompareObjectWithEqualsCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class CompareObjectWithEqualsCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1698";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
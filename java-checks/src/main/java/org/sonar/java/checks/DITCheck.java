@@ -24,6 +24,7 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.ClassTreeImpl;
 import org.sonar.java.resolve.Symbol;
 import org.sonar.java.resolve.Type;
@@ -33,7 +34,7 @@ import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.ClassTree;
 
 @Rule(key = DITCheck.RULE_KEY, priority = Priority.MAJOR)
-public class DITCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class DITCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "MaximumInheritanceDepth";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
@@ -23,6 +23,7 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.ClassTreeImpl;
 import org.sonar.java.model.declaration.MethodTreeImpl;
 import org.sonar.java.resolve.Symbol;
@@ -36,7 +37,7 @@ import org.sonar.plugins.java.api.tree.*;
   priority = Priority.CRITICAL,
   tags={"bug"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.CRITICAL)
-public class EqualsNotOverridenWithCompareToCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class EqualsNotOverridenWithCompareToCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1210";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
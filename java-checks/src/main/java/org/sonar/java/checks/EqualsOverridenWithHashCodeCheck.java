@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.MethodTreeImpl;
 import org.sonar.java.resolve.Symbol;
 import org.sonar.java.resolve.Type;
@@ -39,7 +40,7 @@ import java.util.List;
   priority = Priority.BLOCKER,
   tags={"bug"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.BLOCKER)
-public class EqualsOverridenWithHashCodeCheck extends SubscriptionBaseVisitor {
+public class EqualsOverridenWithHashCodeCheck extends SubscriptionBaseVisitor implements SemanticAwareVisitor {
 
   private static final String HASHCODE = "hashCode";
   private static final String EQUALS = "equals";
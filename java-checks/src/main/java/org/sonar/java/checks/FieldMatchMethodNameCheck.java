@@ -26,6 +26,7 @@ import com.google.common.collect.Sets;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.ClassTreeImpl;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.java.resolve.Symbol;
@@ -43,7 +44,7 @@ import java.util.Set;
     key = FieldMatchMethodNameCheck.RULE_KEY,
     priority = Priority.MAJOR,
     tags = {"brain-overload"})
-public class FieldMatchMethodNameCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class FieldMatchMethodNameCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1701";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
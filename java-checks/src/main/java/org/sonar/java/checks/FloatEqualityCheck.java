@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.SyntacticEquivalence;
@@ -38,7 +39,7 @@ import java.util.List;
     priority = Priority.CRITICAL,
     tags = {"bug"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.CRITICAL)
-public class FloatEqualityCheck extends SubscriptionBaseVisitor {
+public class FloatEqualityCheck extends SubscriptionBaseVisitor implements SemanticAwareVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
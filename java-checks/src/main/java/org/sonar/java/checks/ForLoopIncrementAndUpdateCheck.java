@@ -25,6 +25,7 @@ import com.google.common.collect.Lists;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.resolve.Symbol;
 import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
@@ -43,7 +44,7 @@ import java.util.List;
     priority = Priority.CRITICAL,
     tags = {"bug"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.CRITICAL)
-public class ForLoopIncrementAndUpdateCheck extends SubscriptionBaseVisitor {
+public class ForLoopIncrementAndUpdateCheck extends SubscriptionBaseVisitor implements SemanticAwareVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
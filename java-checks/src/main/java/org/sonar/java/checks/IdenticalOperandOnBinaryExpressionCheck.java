@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.SyntacticEquivalence;
@@ -39,7 +40,7 @@ import java.util.List;
     priority = Priority.MAJOR,
     tags = {"cert"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.MAJOR)
-public class IdenticalOperandOnBinaryExpressionCheck extends SubscriptionBaseVisitor {
+public class IdenticalOperandOnBinaryExpressionCheck extends SubscriptionBaseVisitor implements SemanticAwareVisitor {
 
   /**
    * symetric operators : a OP b is equivalent to b OP a
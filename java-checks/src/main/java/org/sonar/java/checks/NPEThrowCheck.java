@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.java.resolve.Type;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -38,7 +39,7 @@ import org.sonar.plugins.java.api.tree.Tree.Kind;
   key = NPEThrowCheck.RULE_KEY,
   priority = Priority.MAJOR,
   tags = {"pitfall"})
-public class NPEThrowCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class NPEThrowCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1695";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
@@ -0,0 +1,178 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.checks;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Format of names, as configured in naming convention rules.
+ * Formats are compiled once and shared between checks.
+ * Simple formats, made of literal characters and ASCII character classes, where only the last element can be repeated,
+ * like <code>^[a-z][a-zA-Z0-9]*$</code>, are matched without regular expression engine.
+ */
+public abstract class NamingPattern {
+
+  private static final ConcurrentMap<String, NamingPattern> CACHE = Maps.newConcurrentMap();
+
+  public abstract boolean matches(String name);
+
+  public static NamingPattern compile(String format) {
+    NamingPattern result = CACHE.get(format);
+    if (result == null) {
+      result = CharClassesPattern.parse(format);
+      if (result == null) {
+        result = new RegexPattern(Pattern.compile(format, Pattern.DOTALL));
+      }
+      CACHE.putIfAbsent(format, result);
+    }
+    return result;
+  }
+
+  private static class RegexPattern extends NamingPattern {
+    private final Pattern pattern;
+
+    RegexPattern(Pattern pattern) {
+      this.pattern = pattern;
+    }
+
+    @Override
+    public boolean matches(String name) {
+      return pattern.matcher(name).matches();
+    }
+  }
+
+  private static class CharClassesPattern extends NamingPattern {
+    private static final int ASCII = 128;
+
+    /**
+     * Allowed characters for each position, last one is repeated depending on {@link #minRepetitions} and {@link #repeated}.
+     */
+    private final boolean[][] classes;
+    private final int minRepetitions;
+    private final boolean repeated;
+
+    CharClassesPattern(boolean[][] classes, char quantifier) {
+      this.classes = classes;
+      this.minRepetitions = quantifier == '*' ? 0 : 1;
+      this.repeated = quantifier != 0;
+    }
+
+    @Override
+    public boolean matches(String name) {
+      int length = name.length();
+      int fixed = classes.length - 1;
+      if (length < fixed + minRepetitions || (!repeated && length != classes.length)) {
+        return false;
+      }
+      for (int i = 0; i < fixed; i++) {
+        if (!isIn(classes[i], name.charAt(i))) {
+          return false;
+        }
+      }
+      boolean[] last = classes[fixed];
+      for (int i = fixed; i < length; i++) {
+        if (!isIn(last, name.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean isIn(boolean[] charClass, char c) {
+      return c < ASCII && charClass[c];
+    }
+
+    /**
+     * @return null if format is not simple enough
+     */
+    static CharClassesPattern parse(String format) {
+      int start = format.startsWith("^") ? 1 : 0;
+      int end = format.endsWith("$") && !format.endsWith("\\$") ? format.length() - 1 : format.length();
+      List<boolean[]> classes = Lists.newArrayList();
+      char quantifier = 0;
+      int i = start;
+      while (i < end) {
+        if (quantifier != 0) {
+          return null;
+        }
+        boolean[] charClass = new boolean[ASCII];
+        char c = format.charAt(i);
+        if (c == '[') {
+          i = parseCharClass(format, i + 1, end, charClass);
+          if (i < 0) {
+            return null;
+          }
+        } else if (isSimpleChar(c)) {
+          charClass[c] = true;
+          i++;
+        } else {
+          return null;
+        }
+        classes.add(charClass);
+        if (i < end && (format.charAt(i) == '*' || format.charAt(i) == '+')) {
+          quantifier = format.charAt(i);
+          i++;
+        }
+      }
+      if (classes.isEmpty()) {
+        return null;
+      }
+      return new CharClassesPattern(classes.toArray(new boolean[classes.size()][]), quantifier);
+    }
+
+    /**
+     * @return index after closing bracket, or -1 if character class is not simple enough
+     */
+    private static int parseCharClass(String format, int start, int end, boolean[] charClass) {
+      int i = start;
+      boolean empty = true;
+      while (i < end && format.charAt(i) != ']') {
+        char from = format.charAt(i);
+        if (!isSimpleChar(from)) {
+          return -1;
+        }
+        char to = from;
+        if (i + 2 < end && format.charAt(i + 1) == '-' && format.charAt(i + 2) != ']') {
+          to = format.charAt(i + 2);
+          if (!isSimpleChar(to) || to < from) {
+            return -1;
+          }
+          i += 2;
+        }
+        for (char c = from; c <= to; c++) {
+          charClass[c] = true;
+        }
+        empty = false;
+        i++;
+      }
+      return i < end && !empty ? i + 1 : -1;
+    }
+
+    private static boolean isSimpleChar(char c) {
+      return c < ASCII && (Character.isLetterOrDigit(c) || c == '_');
+    }
+  }
+
+}
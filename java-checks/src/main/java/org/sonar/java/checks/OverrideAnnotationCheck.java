@@ -24,6 +24,7 @@ import org.apache.commons.lang.BooleanUtils;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.MethodTreeImpl;
 import org.sonar.plugins.java.api.tree.Tree;
 
@@ -34,7 +35,7 @@ import java.util.List;
     priority = Priority.MAJOR,
     tags = {})
 @BelongsToProfile(title = "Sonar way", priority = Priority.MAJOR)
-public class OverrideAnnotationCheck extends SubscriptionBaseVisitor {
+public class OverrideAnnotationCheck extends SubscriptionBaseVisitor implements SemanticAwareVisitor {
   @Override
   public List<Tree.Kind> nodesToVisit() {
     return ImmutableList.of(Tree.Kind.METHOD);
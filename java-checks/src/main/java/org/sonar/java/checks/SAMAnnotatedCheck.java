@@ -26,6 +26,7 @@ import com.google.common.collect.Lists;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.ClassTreeImpl;
 import org.sonar.java.model.declaration.VariableTreeImpl;
 import org.sonar.java.resolve.Symbol;
@@ -47,7 +48,7 @@ import java.util.List;
     key = SAMAnnotatedCheck.RULE_KEY,
     priority = Priority.MAJOR,
     tags = {"java8"})
-public class SAMAnnotatedCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class SAMAnnotatedCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1609";
   private static final RuleKey RULE = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
@@ -23,11 +23,11 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.java.resolve.Symbol;
 import org.sonar.java.resolve.Type;
 import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
@@ -37,7 +37,6 @@ import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 import javax.annotation.Nullable;
-import java.util.Collection;
 import java.util.List;
 
 @Rule(
@@ -45,7 +44,7 @@ import java.util.List;
     priority = Priority.CRITICAL,
     tags = {"cwe", "owasp-top-10", "security", "sql"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.CRITICAL)
-public class SQLInjectionCheck extends SubscriptionBaseVisitor {
+public class SQLInjectionCheck extends SubscriptionBaseVisitor implements SemanticAwareVisitor {
 
   private String parameterName;
 
@@ -104,11 +103,12 @@ public class SQLInjectionCheck extends SubscriptionBaseVisitor {
       if(declaration.initializer() != null && isDynamicString(methodTree, declaration.initializer(), currentlyChecking)) {
         return true;
       }
-      //check usages by revisiting the enclosing tree.
-      Collection<IdentifierTree> usages = getSemanticModel().getUsages(symbol);
-      LocalVariableDynamicStringVisitor visitor = new LocalVariableDynamicStringVisitor(symbol, usages, methodTree);
-      argEnclosingDeclarationTree.accept(visitor);
-      return visitor.dynamicString;
+      //check assignments preceding method invocation.
+      boolean dynamicString = false;
+      for (AssignmentExpressionTree assignment : getSemanticModel().getDefUseChain(symbol).assignmentsBefore(methodTree)) {
+        dynamicString |= isDynamicString(methodTree, assignment.expression(), symbol);
+      }
+      return dynamicString;
     }
     //arg is not a local variable nor a constant, so it is a parameter or a field.
     parameterName =  arg.name();
@@ -162,40 +162,4 @@ public class SQLInjectionCheck extends SubscriptionBaseVisitor {
     return false;
   }
 
-  private class LocalVariableDynamicStringVisitor extends BaseTreeVisitor {
-
-    private final Collection<IdentifierTree> usages;
-    private final MethodInvocationTree methodInvocationTree;
-    private final Symbol currentlyChecking;
-    private boolean stopInspection;
-    boolean dynamicString;
-
-    public LocalVariableDynamicStringVisitor(Symbol currentlyChecking, Collection<IdentifierTree> usages, MethodInvocationTree methodInvocationTree) {
-      this.currentlyChecking = currentlyChecking;
-      stopInspection = false;
-      this.usages = usages;
-      this.methodInvocationTree = methodInvocationTree;
-      dynamicString = false;
-    }
-
-
-    @Override
-    public void visitAssignmentExpression(AssignmentExpressionTree tree) {
-      if(!stopInspection && tree.variable().is(Tree.Kind.IDENTIFIER) && usages.contains(tree.variable())) {
-        dynamicString |= isDynamicString(methodInvocationTree, tree.expression(), currentlyChecking);
-      }
-      super.visitAssignmentExpression(tree);
-    }
-
-    @Override
-    public void visitMethodInvocation(MethodInvocationTree tree) {
-      if(tree.equals(methodInvocationTree)) {
-        //stop inspection, all concerned usages have been visited.
-        stopInspection = true;
-      } else {
-        super.visitMethodInvocation(tree);
-      }
-    }
-  }
-
 }
@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.java.model.declaration.ClassTreeImpl;
 import org.sonar.java.resolve.Symbol;
@@ -41,7 +42,7 @@ import java.util.List;
     priority = Priority.MAJOR,
     tags = {"bug", "cwe"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.MAJOR)
-public class SerializableFieldInSerializableClassCheck extends SubscriptionBaseVisitor {
+public class SerializableFieldInSerializableClassCheck extends SubscriptionBaseVisitor implements SemanticAwareVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.expression.AssignmentExpressionTreeImpl;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.java.resolve.Symbol;
@@ -49,7 +50,7 @@ import java.util.LinkedList;
     key = StringConcatenationInLoopCheck.RULE_KEY,
     priority = Priority.MAJOR,
     tags = {"performance"})
-public class StringConcatenationInLoopCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class StringConcatenationInLoopCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1643";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
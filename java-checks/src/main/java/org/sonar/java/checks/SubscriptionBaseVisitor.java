@@ -26,6 +26,8 @@ import org.sonar.plugins.java.api.tree.Tree;
 
 public abstract class SubscriptionBaseVisitor extends SubscriptionVisitor {
 
+  private RuleKey ruleKey;
+
   public void addIssue(Tree tree, String message) {
     context.addIssue(tree, getRuleKey(), message);
   }
@@ -38,7 +40,13 @@ public abstract class SubscriptionBaseVisitor extends SubscriptionVisitor {
     context.addIssueOnFile(getRuleKey(), message);
   }
 
+  /**
+   * Rule key is resolved from annotation of check class only once, on first issue.
+   */
   private RuleKey getRuleKey() {
-    return RuleKey.of(CheckList.REPOSITORY_KEY, RuleAnnotationUtils.getRuleKey(this.getClass()));
+    if (ruleKey == null) {
+      ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RuleAnnotationUtils.getRuleKey(this.getClass()));
+    }
+    return ruleKey;
   }
 }
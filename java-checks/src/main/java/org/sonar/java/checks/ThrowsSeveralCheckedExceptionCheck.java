@@ -25,6 +25,7 @@ import org.apache.commons.lang.BooleanUtils;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.MethodTreeImpl;
 import org.sonar.java.resolve.Symbol;
 import org.sonar.java.resolve.Type;
@@ -35,7 +36,7 @@ import java.util.List;
 
 @Rule(key = "S1160", priority = Priority.MAJOR, tags = {"error-handling"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.MAJOR)
-public class ThrowsSeveralCheckedExceptionCheck extends SubscriptionBaseVisitor {
+public class ThrowsSeveralCheckedExceptionCheck extends SubscriptionBaseVisitor implements SemanticAwareVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -23,6 +23,7 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.java.resolve.Symbol;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -39,7 +40,7 @@ import org.sonar.plugins.java.api.tree.VariableTree;
   priority = Priority.MAJOR,
   tags={"unused"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.MAJOR)
-public class UnusedLocalVariableCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class UnusedLocalVariableCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1481";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
@@ -26,6 +26,7 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.check.BelongsToProfile;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.model.declaration.MethodTreeImpl;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.java.resolve.Symbol;
@@ -46,7 +47,7 @@ import java.util.List;
     priority = Priority.MAJOR,
     tags = {"unused"})
 @BelongsToProfile(title = "Sonar way", priority = Priority.MAJOR)
-public class UnusedMethodParameterCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class UnusedMethodParameterCheck extends BaseTreeVisitor implements JavaFileScanner, SemanticAwareVisitor {
 
   public static final String RULE_KEY = "S1172";
   private final RuleKey ruleKey = RuleKey.of(CheckList.REPOSITORY_KEY, RULE_KEY);
@@ -81,4 +81,11 @@ class A {
 
     }
   }
-}
\ No newline at end of file
+
+  private Statement statement;
+  {
+    String sql = "select";
+    sql = sql + 1;
+    statement.executeQuery(sql); //NonCompliant
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.checks;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class NamingPatternTest {
+
+  private static final String[] NAMES = {"", "a", "A", "_", "abc", "aBc1", "Abc", "ABC", "A_B", "AB_", "a_b", "T", "TT", "t",
+    "AbstractFoo", "Abstractfoo", "Abstract", "Foo$Bar", "foo.bar", "été", "a\n", "1a"};
+
+  @Test
+  public void should_match_like_regular_expression() {
+    String[] formats = {"^[a-z][a-zA-Z0-9]*$", "^[A-Z][a-zA-Z0-9]*$", "^Abstract[A-Z][a-zA-Z0-9]*$", "^[A-Z]$", "[a-z_]+",
+      "^[A-Z][A-Z0-9]*(_[A-Z0-9]+)*$", "^[a-z]+(\\.[a-z][a-z0-9]*)*$", "^[a-z]*[0-9]$", "^[^a-z]*$", ".*", "^[a-]$", "abc\\$"};
+    for (String format : formats) {
+      NamingPattern namingPattern = NamingPattern.compile(format);
+      Pattern pattern = Pattern.compile(format, Pattern.DOTALL);
+      for (String name : NAMES) {
+        assertThat(namingPattern.matches(name)).as(format + " " + name).isEqualTo(pattern.matcher(name).matches());
+      }
+    }
+  }
+
+  @Test
+  public void should_share_compiled_formats() {
+    assertThat(NamingPattern.compile("^[a-z][a-zA-Z0-9]*$")).isSameAs(NamingPattern.compile("^[a-z][a-zA-Z0-9]*$"));
+  }
+
+}
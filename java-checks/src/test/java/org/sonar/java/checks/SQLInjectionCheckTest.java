@@ -46,6 +46,7 @@ public class SQLInjectionCheckTest {
         .next().atLine(39)
         .next().atLine(66).withMessage("Use Hibernate's parameter binding instead of concatenation.")
         .next().atLine(67).withMessage("Use Hibernate's parameter binding instead of concatenation.")
+        .next().atLine(89)
         .noMore();
   }
 
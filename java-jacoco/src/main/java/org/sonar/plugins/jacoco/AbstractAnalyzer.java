@@ -21,6 +21,7 @@ package org.sonar.plugins.jacoco;
 
 import com.google.common.collect.Maps;
 import com.google.common.io.Closeables;
+import com.google.common.primitives.Ints;
 import org.apache.commons.lang.StringUtils;
 import org.jacoco.core.analysis.Analyzer;
 import org.jacoco.core.analysis.CoverageBuilder;
@@ -51,12 +52,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
-import static com.google.common.collect.Lists.newArrayList;
-
 public abstract class AbstractAnalyzer {
 
   private final ResourcePerspectives perspectives;
@@ -66,6 +66,10 @@ public abstract class AbstractAnalyzer {
   private final boolean readCoveragePerTests;
 
   private Map<String, File> classFilesCache;
+  /**
+   * Resources (or null) by package and source file name, as the same source files are looked up for each session.
+   */
+  private Map<String, Map<String, Resource>> resourcesCache;
 
   public AbstractAnalyzer(ResourcePerspectives perspectives, ModuleFileSystem fileSystem, PathResolver pathResolver, JavaResourceLocator javaResourceLocator) {
     this(perspectives, fileSystem, pathResolver, javaResourceLocator, true);
@@ -84,6 +88,20 @@ public abstract class AbstractAnalyzer {
   }
 
   private Resource getResource(ISourceFileCoverage coverage, SensorContext context) {
+    Map<String, Resource> resourcesInPackage = resourcesCache.get(coverage.getPackageName());
+    if (resourcesInPackage == null) {
+      resourcesInPackage = Maps.newHashMap();
+      resourcesCache.put(coverage.getPackageName(), resourcesInPackage);
+    }
+    Resource resource = resourcesInPackage.get(coverage.getName());
+    if (resource == null && !resourcesInPackage.containsKey(coverage.getName())) {
+      resource = findResource(coverage, context);
+      resourcesInPackage.put(coverage.getName(), resource);
+    }
+    return resource;
+  }
+
+  private Resource findResource(ISourceFileCoverage coverage, SensorContext context) {
     String className = fullyQualifiedClassName(coverage.getPackageName(), coverage.getName());
 
     Resource resourceInContext = context.getResource(javaResourceLocator.findResourceByClassName(className));
@@ -138,6 +156,7 @@ public abstract class AbstractAnalyzer {
 
   public final void readExecutionData(File jacocoExecutionData, SensorContext context) throws IOException {
     ExecutionDataVisitor executionDataVisitor = new ExecutionDataVisitor();
+    resourcesCache = Maps.newHashMap();
 
     if (jacocoExecutionData == null || !jacocoExecutionData.isFile()) {
       JaCoCoExtensions.LOG.info("Project coverage is set to 0% as no JaCoCo execution data has been dumped: {}", jacocoExecutionData);
@@ -176,6 +195,7 @@ public abstract class AbstractAnalyzer {
     } else if (jacocoExecutionData != null) {
       JaCoCoExtensions.LOG.info("No information about coverage per test.");
     }
+    resourcesCache = null;
   }
 
   private boolean readCoveragePerTests(SensorContext context, ExecutionDataVisitor executionDataVisitor) {
@@ -208,8 +228,7 @@ public abstract class AbstractAnalyzer {
     for (ISourceFileCoverage coverage : coverageBuilder.getSourceFiles()) {
       Resource resource = getResource(coverage, context);
       if (resource != null) {
-        CoverageMeasuresBuilder builder = analyzeFile(resource, coverage);
-        List<Integer> coveredLines = getCoveredLines(builder);
+        BitSet coveredLines = getCoveredLines(coverage);
         if (!coveredLines.isEmpty() && addCoverage(resource, testResource, testName, coveredLines)) {
           result = true;
         }
@@ -231,24 +250,28 @@ public abstract class AbstractAnalyzer {
     return coverageBuilder;
   }
 
-  private List<Integer> getCoveredLines(CoverageMeasuresBuilder builder) {
-    List<Integer> linesCover = newArrayList();
-    for (Map.Entry<Integer, Integer> hitsByLine : builder.getHitsByLine().entrySet()) {
-      if (hitsByLine.getValue() > 0) {
-        linesCover.add(hitsByLine.getKey());
+  /**
+   * Same lines as the ones with hits in {@link #analyzeFile(Resource, ISourceFileCoverage)}, but without building measures.
+   */
+  private static BitSet getCoveredLines(ISourceFileCoverage coverage) {
+    BitSet coveredLines = new BitSet();
+    for (int lineId = coverage.getFirstLine(); lineId <= coverage.getLastLine(); lineId++) {
+      int status = coverage.getLine(lineId).getInstructionCounter().getStatus();
+      if (status == ICounter.FULLY_COVERED || status == ICounter.PARTLY_COVERED) {
+        coveredLines.set(lineId);
       }
     }
-    return linesCover;
+    return coveredLines;
   }
 
-  private boolean addCoverage(Resource resource, Resource testFile, String testName, List<Integer> coveredLines) {
+  private boolean addCoverage(Resource resource, Resource testFile, String testName, BitSet coveredLines) {
     boolean result = false;
     Testable testAbleFile = perspectives.as(MutableTestable.class, resource);
     if (testAbleFile != null) {
       MutableTestPlan testPlan = perspectives.as(MutableTestPlan.class, testFile);
       if (testPlan != null) {
         for (MutableTestCase testCase : testPlan.testCasesByName(testName)) {
-          testCase.setCoverageBlock(testAbleFile, coveredLines);
+          testCase.setCoverageBlock(testAbleFile, toList(coveredLines));
           result = true;
         }
       }
@@ -256,6 +279,19 @@ public abstract class AbstractAnalyzer {
     return result;
   }
 
+  /**
+   * Lines are boxed only when read by the test case, list is backed by an array of primitives.
+   */
+  private static List<Integer> toList(BitSet lines) {
+    int[] result = new int[lines.cardinality()];
+    int i = 0;
+    for (int line = lines.nextSetBit(0); line >= 0; line = lines.nextSetBit(line + 1)) {
+      result[i] = line;
+      i++;
+    }
+    return Ints.asList(result);
+  }
+
   private CoverageBuilder analyze(ExecutionDataStore executionDataStore) {
     CoverageBuilder coverageBuilder = new CoverageBuilder();
     Analyzer analyzer = new Analyzer(executionDataStore, coverageBuilder);
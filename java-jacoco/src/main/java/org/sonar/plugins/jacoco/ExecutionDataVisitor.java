@@ -19,6 +19,8 @@
  */
 package org.sonar.plugins.jacoco;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.jacoco.core.data.ExecutionData;
 import org.jacoco.core.data.ExecutionDataStore;
@@ -26,28 +28,44 @@ import org.jacoco.core.data.IExecutionDataVisitor;
 import org.jacoco.core.data.ISessionInfoVisitor;
 import org.jacoco.core.data.SessionInfo;
 
+import java.util.List;
 import java.util.Map;
 
 public class ExecutionDataVisitor implements ISessionInfoVisitor, IExecutionDataVisitor {
 
+  /**
+   * Separates names of tests executed in parallel within a session id, see {@code org.sonar.java.jacoco.JacocoController}.
+   */
+  private static final Splitter SESSION_ID_SPLITTER = Splitter.on('\n');
+
   private final Map<String, ExecutionDataStore> sessions = Maps.newHashMap();
 
-  private ExecutionDataStore executionDataStore;
+  private final List<ExecutionDataStore> executionDataStores = Lists.newArrayList();
   private ExecutionDataStore merged = new ExecutionDataStore();
 
   @Override
   public void visitSessionInfo(SessionInfo info) {
-    String sessionId = info.getId();
-    executionDataStore = sessions.get(sessionId);
-    if (executionDataStore == null) {
-      executionDataStore = new ExecutionDataStore();
-      sessions.put(sessionId, executionDataStore);
+    executionDataStores.clear();
+    for (String sessionId : SESSION_ID_SPLITTER.split(info.getId())) {
+      ExecutionDataStore executionDataStore = sessions.get(sessionId);
+      if (executionDataStore == null) {
+        executionDataStore = new ExecutionDataStore();
+        sessions.put(sessionId, executionDataStore);
+      }
+      executionDataStores.add(executionDataStore);
     }
   }
 
   @Override
   public void visitClassExecution(ExecutionData data) {
-    executionDataStore.put(data);
+    if (executionDataStores.size() == 1) {
+      executionDataStores.get(0).put(data);
+    } else {
+      // Session shared by tests executed in parallel: each store must own its copy as stores merge probes in place
+      for (ExecutionDataStore executionDataStore : executionDataStores) {
+        executionDataStore.put(defensiveCopy(data));
+      }
+    }
     merged.put(defensiveCopy(data));
   }
 
@@ -48,4 +48,23 @@ public class ExecutionDataVisitorTest {
     assertThat(visitor.getMerged().get(1).getProbes()).isEqualTo(new boolean[] {true, true, true});
   }
 
+  @Test
+  public void session_of_tests_executed_in_parallel() {
+    ExecutionDataVisitor visitor = new ExecutionDataVisitor();
+
+    visitor.visitSessionInfo(new SessionInfo("foo", 1L, 1L));
+    visitor.visitClassExecution(new ExecutionData(1, "", new boolean[] {true, false, false}));
+
+    visitor.visitSessionInfo(new SessionInfo("foo\nbar", 2L, 2L));
+    visitor.visitClassExecution(new ExecutionData(1, "", new boolean[] {false, true, false}));
+
+    visitor.visitSessionInfo(new SessionInfo("bar", 3L, 3L));
+    visitor.visitClassExecution(new ExecutionData(1, "", new boolean[] {false, false, true}));
+
+    assertThat(visitor.getSessions()).hasSize(2);
+    assertThat(visitor.getSessions().get("foo").get(1).getProbes()).isEqualTo(new boolean[] {true, true, false});
+    assertThat(visitor.getSessions().get("bar").get(1).getProbes()).isEqualTo(new boolean[] {false, true, true});
+    assertThat(visitor.getMerged().get(1).getProbes()).isEqualTo(new boolean[] {true, true, true});
+  }
+
 }
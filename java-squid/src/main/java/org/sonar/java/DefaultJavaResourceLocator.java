@@ -19,7 +19,6 @@
  */
 package org.sonar.java;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Maps;
@@ -42,25 +41,26 @@ public class DefaultJavaResourceLocator implements JavaResourceLocator, JavaFile
 
   private final Project project;
   private final JavaClasspath javaClasspath;
-  @VisibleForTesting
-  Map<String, Resource> resourcesByClass;
-  private final Map<String, String> sourceFileByClass;
+  /**
+   * Indexed by both internal ("org/foo/Bar$Baz") and dotted ("org.foo.Bar$Baz") names, so that lookups don't have to convert names.
+   */
+  private final Map<String, Resource> resourcesByClassName;
+  private final Map<String, String> sourceFileByClassName;
   private final Map<String, Integer> methodStartLines;
   private final ResourceMapping resourceMapping;
 
   public DefaultJavaResourceLocator(Project project, JavaClasspath javaClasspath) {
     this.project = project;
     this.javaClasspath = javaClasspath;
-    resourcesByClass = Maps.newHashMap();
-    sourceFileByClass = Maps.newHashMap();
+    resourcesByClassName = Maps.newHashMap();
+    sourceFileByClassName = Maps.newHashMap();
     methodStartLines = Maps.newHashMap();
     resourceMapping = new ResourceMapping();
   }
 
   @Override
   public Resource findResourceByClassName(String className) {
-    String name = className.replace('.', '/');
-    Resource resource = resourcesByClass.get(name);
+    Resource resource = resourcesByClassName.get(className);
     if (resource == null) {
       LOG.debug("Class not found in resource cache : {}", className);
     }
@@ -69,13 +69,21 @@ public class DefaultJavaResourceLocator implements JavaResourceLocator, JavaFile
 
   @Override
   public String findSourceFileKeyByClassName(String className) {
-    String name = className.replace('.', '/');
-    return sourceFileByClass.get(name);
+    return sourceFileByClassName.get(className);
   }
 
+  /**
+   * @return internal names of classes, which unlike dotted names never contain '.'
+   */
   @Override
   public Collection<String> classKeys() {
-    return ImmutableSortedSet.<String>naturalOrder().addAll(resourcesByClass.keySet()).build();
+    ImmutableSortedSet.Builder<String> result = ImmutableSortedSet.naturalOrder();
+    for (String className : resourcesByClassName.keySet()) {
+      if (className.indexOf('.') < 0) {
+        result.add(className);
+      }
+    }
+    return result.build();
   }
 
   @Override
@@ -119,9 +127,13 @@ public class DefaultJavaResourceLocator implements JavaResourceLocator, JavaFile
     }
     resourceMapping.addResource(currentResource, context.getFileKey());
     for (Map.Entry<String, File> classIOFileEntry : javaFilesCache.getResourcesCache().entrySet()) {
-      resourcesByClass.put(classIOFileEntry.getKey(), currentResource);
+      String className = classIOFileEntry.getKey();
+      String dottedClassName = className.replace('/', '.');
+      resourcesByClassName.put(className, currentResource);
+      resourcesByClassName.put(dottedClassName, currentResource);
       if (context.getFileKey() != null) {
-        sourceFileByClass.put(classIOFileEntry.getKey(), context.getFileKey());
+        sourceFileByClassName.put(className, context.getFileKey());
+        sourceFileByClassName.put(dottedClassName, context.getFileKey());
       }
     }
     context.addNoSonarLines(javaFilesCache.ignoredLines());
@@ -39,6 +39,7 @@ import org.sonar.java.bytecode.BytecodeScanner;
 import org.sonar.java.bytecode.visitor.DependenciesVisitor;
 import org.sonar.java.model.TestFileVisitorsBridge;
 import org.sonar.java.model.VisitorsBridge;
+import org.sonar.java.resolve.ResolveMetrics;
 import org.sonar.plugins.java.api.JavaResourceLocator;
 import org.sonar.squidbridge.api.CodeVisitor;
 import org.sonar.squidbridge.api.Query;
@@ -57,10 +58,13 @@ public class JavaSquid implements SourceCodeSearchEngine {
 
   private static final Logger LOG = LoggerFactory.getLogger(JavaSquid.class);
 
+  private static final int RESOLVE_METRICS_REPORT_SIZE = 10;
+
   private final SquidIndex squidIndex;
   private final AstScanner astScanner;
   private final AstScanner astScannerForTests;
   private final BytecodeScanner bytecodeScanner;
+  private final ResolveMetrics resolveMetrics = LOG.isDebugEnabled() ? new ResolveMetrics() : ResolveMetrics.disabled();
   private final DirectedGraph<Resource, Dependency> graph = new DirectedGraph<Resource, Dependency>();
 
   private boolean bytecodeScanned = false;
@@ -90,11 +94,12 @@ public class JavaSquid implements SourceCodeSearchEngine {
     VisitorsBridge visitorsBridge = new VisitorsBridge(visitorsToBridge, sonarComponents);
     visitorsBridge.setCharset(conf.getCharset());
     visitorsBridge.setAnalyseAccessors(conf.isAnalysePropertyAccessors());
+    visitorsBridge.setResolveMetrics(resolveMetrics);
     astScanner.accept(visitorsBridge);
 
     if (sonarComponents != null) {
-      astScanner.accept(new FileLinesVisitor(sonarComponents, conf.getCharset()));
-      astScanner.accept(new SyntaxHighlighterVisitor(sonarComponents, conf.getCharset()));
+      astScanner.accept(new FileLinesVisitor(sonarComponents));
+      astScanner.accept(new SyntaxHighlighterVisitor(sonarComponents));
     }
 
     // TODO unchecked cast
@@ -129,6 +134,9 @@ public class JavaSquid implements SourceCodeSearchEngine {
     scanSources(sourceFiles);
     scanBytecode(bytecodeFilesOrDirectories);
     scanTests(testFiles);
+    if (resolveMetrics.isEnabled()) {
+      LOG.debug(resolveMetrics.report(RESOLVE_METRICS_REPORT_SIZE));
+    }
   }
 
   private void scanSources(Collection<InputFile> sourceFiles) {
@@ -178,6 +186,13 @@ public class JavaSquid implements SourceCodeSearchEngine {
     return squidIndex;
   }
 
+  /**
+   * @return counters of resolution of symbols in main files, collected during scan of sources only if debug logging is enabled
+   */
+  public ResolveMetrics getResolveMetrics() {
+    return resolveMetrics;
+  }
+
   public DirectedGraph<Resource, Dependency> getGraph() {
     return graph;
   }
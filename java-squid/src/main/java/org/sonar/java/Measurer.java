@@ -19,9 +19,7 @@
  */
 package org.sonar.java;
 
-import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.Files;
 import org.sonar.api.batch.SensorContext;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.Measure;
@@ -36,19 +34,28 @@ import org.sonar.java.ast.visitors.LinesOfCodeVisitor;
 import org.sonar.java.ast.visitors.PublicApiChecker;
 import org.sonar.java.ast.visitors.StatementVisitor;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.model.InternalSyntaxToken;
+import org.sonar.java.model.JavaTree;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
 
-import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.Deque;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
-public class Measurer extends SubscriptionVisitor implements CharsetAwareVisitor {
+/**
+ * Computes all metrics of a file in a single traversal of its nodes and tokens:
+ * nodes and tokens are forwarded to the visitors of statements, public API, lines of code and comments,
+ * and complexity is taken from the per-file pass shared with checks.
+ */
+public class Measurer extends SubscriptionVisitor {
 
   private static final Number[] LIMITS_COMPLEXITY_METHODS = {1, 2, 4, 6, 8, 10, 12};
   private static final Number[] LIMITS_COMPLEXITY_FILES = {0, 5, 10, 20, 30, 60, 90};
@@ -64,21 +71,37 @@ public class Measurer extends SubscriptionVisitor implements CharsetAwareVisitor
 
   private final Deque<ClassTree> classTrees = new LinkedList<ClassTree>();
   private final AccessorVisitor accessorVisitor;
-  private Charset charset;
   private double classes;
+  private int lines;
+
+  private final Set<Kind> statementKinds = kinds(new StatementVisitor());
+  private final Set<Kind> publicApiKinds = kinds(new PublicApiChecker());
+  private final List<Kind> nodesToVisit;
+  private StatementVisitor statementVisitor;
+  private PublicApiChecker publicApiChecker;
+  private LinesOfCodeVisitor linesOfCodeVisitor;
+  private CommentLinesVisitor commentLinesVisitor;
 
   public Measurer(Project project, SensorContext context, boolean analyseAccessors) {
     this.project = project;
     this.sensorContext = context;
     this.analyseAccessors = analyseAccessors;
     accessorVisitor = new AccessorVisitor();
+    Set<Kind> kinds = EnumSet.of(Tree.Kind.CLASS, Tree.Kind.INTERFACE, Tree.Kind.ENUM, Tree.Kind.ANNOTATION_TYPE,
+        Tree.Kind.NEW_CLASS, Tree.Kind.ENUM_CONSTANT,
+        Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR, Tree.Kind.TOKEN);
+    kinds.addAll(statementKinds);
+    kinds.addAll(publicApiKinds);
+    nodesToVisit = ImmutableList.copyOf(kinds);
+  }
+
+  private static Set<Kind> kinds(SubscriptionVisitor visitor) {
+    return EnumSet.copyOf(visitor.nodesToVisit());
   }
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
-    return ImmutableList.of(Tree.Kind.CLASS, Tree.Kind.INTERFACE, Tree.Kind.ENUM, Tree.Kind.ANNOTATION_TYPE,
-        Tree.Kind.NEW_CLASS, Tree.Kind.ENUM_CONSTANT,
-        Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR);
+    return nodesToVisit;
   }
 
 
@@ -90,8 +113,11 @@ public class Measurer extends SubscriptionVisitor implements CharsetAwareVisitor
     complexityInMethods = 0;
     accessors = 0;
     classes = 0;
-    PublicApiChecker publicApiChecker = new PublicApiChecker();
-    publicApiChecker.scan(context.getTree());
+    lines = 0;
+    statementVisitor = new StatementVisitor();
+    publicApiChecker = new PublicApiChecker();
+    linesOfCodeVisitor = new LinesOfCodeVisitor();
+    commentLinesVisitor = new CommentLinesVisitor();
     methodComplexityDistribution = new RangeDistributionBuilder(CoreMetrics.FUNCTION_COMPLEXITY_DISTRIBUTION, LIMITS_COMPLEXITY_METHODS);
     super.scanFile(context);
     //leave file.
@@ -104,29 +130,37 @@ public class Measurer extends SubscriptionVisitor implements CharsetAwareVisitor
     saveMetricOnFile(CoreMetrics.PUBLIC_API, publicApiChecker.getPublicApi());
     saveMetricOnFile(CoreMetrics.PUBLIC_DOCUMENTED_API_DENSITY, publicApiChecker.getDocumentedPublicApiDensity());
     saveMetricOnFile(CoreMetrics.PUBLIC_UNDOCUMENTED_API, publicApiChecker.getUndocumentedPublicApi());
-    saveMetricOnFile(CoreMetrics.COMMENT_LINES, new CommentLinesVisitor().commentLines(context.getTree()));
-    saveMetricOnFile(CoreMetrics.STATEMENTS, new StatementVisitor().numberOfStatements(context.getTree()));
-    saveMetricOnFile(CoreMetrics.NCLOC, new LinesOfCodeVisitor().linesOfCode(context.getTree()));
+    saveMetricOnFile(CoreMetrics.COMMENT_LINES, commentLinesVisitor.commentLines());
+    saveMetricOnFile(CoreMetrics.STATEMENTS, statementVisitor.numberOfStatements());
+    saveMetricOnFile(CoreMetrics.NCLOC, linesOfCodeVisitor.linesOfCode());
 
     sensorContext.saveMeasure(sonarFile, methodComplexityDistribution.build(true).setPersistenceMode(PersistenceMode.MEMORY));
 
     RangeDistributionBuilder fileComplexityDistribution = new RangeDistributionBuilder(CoreMetrics.FILE_COMPLEXITY_DISTRIBUTION, LIMITS_COMPLEXITY_FILES);
     sensorContext.saveMeasure(sonarFile, fileComplexityDistribution.add(fileComplexity).build(true).setPersistenceMode(PersistenceMode.MEMORY));
-    saveLinesMetric();
-
+    saveMetricOnFile(CoreMetrics.LINES, lines);
   }
 
-  private void saveLinesMetric() {
-    try {
-      String content = Files.toString(context.getFile(), charset);
-      saveMetricOnFile(CoreMetrics.LINES, content.split("(\r)?\n|\r", -1).length);
-    } catch (IOException e) {
-      Throwables.propagate(e);
+  @Override
+  public void visitToken(SyntaxToken syntaxToken) {
+    linesOfCodeVisitor.visitToken(syntaxToken);
+    commentLinesVisitor.visitToken(syntaxToken);
+    InternalSyntaxToken internalSyntaxToken = (InternalSyntaxToken) syntaxToken;
+    if (internalSyntaxToken.isEOF()) {
+      // EOF token is on last line of file
+      lines = internalSyntaxToken.getLine();
     }
   }
 
   @Override
   public void visitNode(Tree tree) {
+    Kind kind = ((JavaTree) tree).getKind();
+    if (statementKinds.contains(kind)) {
+      statementVisitor.visitNode(tree);
+    }
+    if (publicApiKinds.contains(kind)) {
+      publicApiChecker.visitNode(tree);
+    }
     if (isClassTree(tree)) {
       classes++;
       classTrees.push((ClassTree) tree);
@@ -151,6 +185,13 @@ public class Measurer extends SubscriptionVisitor implements CharsetAwareVisitor
 
   @Override
   public void leaveNode(Tree tree) {
+    Kind kind = ((JavaTree) tree).getKind();
+    if (statementKinds.contains(kind)) {
+      statementVisitor.leaveNode(tree);
+    }
+    if (publicApiKinds.contains(kind)) {
+      publicApiChecker.leaveNode(tree);
+    }
     if (isClassTree(tree)) {
       classTrees.pop();
     }
@@ -163,9 +204,4 @@ public class Measurer extends SubscriptionVisitor implements CharsetAwareVisitor
   private void saveMetricOnFile(Metric metric, double value) {
     sensorContext.saveMeasure(sonarFile, new Measure(metric, value));
   }
-
-  @Override
-  public void setCharset(Charset charset) {
-    this.charset = charset;
-  }
 }
@@ -20,19 +20,20 @@
 package org.sonar.java.ast.visitors;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Sets;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.CommentAnalyser;
 
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 
 public class CommentLinesVisitor extends SubscriptionVisitor {
 
-  private Set<Integer> comments = Sets.newHashSet();
+  private static final String NOSONAR = "NOSONAR";
+
+  private final BitSet comments = new BitSet();
   private boolean seenFirstToken;
   private JavaCommentAnalyser commentAnalyser = new JavaCommentAnalyser();
 
@@ -45,22 +46,21 @@ public class CommentLinesVisitor extends SubscriptionVisitor {
     comments.clear();
     seenFirstToken = false;
     visitTokens(tree);
-    return comments.size();
+    return commentLines();
+  }
+
+  /**
+   * Comment lines of tokens visited so far, for use when tokens are fed by another visitor.
+   */
+  public int commentLines() {
+    return comments.cardinality();
   }
 
   @Override
   public void visitToken(SyntaxToken syntaxToken) {
     for (SyntaxTrivia trivia : syntaxToken.trivias()) {
       if (seenFirstToken) {
-        String[] commentLines = commentAnalyser.getContents(trivia.comment())
-            .split("(\r)?\n|\r", -1);
-        int line = trivia.startLine();
-        for (String commentLine : commentLines) {
-          if (!commentLine.contains("NOSONAR") && !commentAnalyser.isBlank(commentLine)) {
-            comments.add(line);
-          }
-          line++;
-        }
+        addCommentLines(commentAnalyser.getContents(trivia.comment()), trivia.startLine());
       } else {
         seenFirstToken = true;
       }
@@ -68,19 +68,83 @@ public class CommentLinesVisitor extends SubscriptionVisitor {
     seenFirstToken = true;
   }
 
+  private void addCommentLines(String contents, int startLine) {
+    int line = startLine;
+    int lineStart = 0;
+    int length = contents.length();
+    while (lineStart <= length) {
+      int lineEnd = lineStart;
+      while (lineEnd < length && !isLineTerminator(contents.charAt(lineEnd))) {
+        lineEnd++;
+      }
+      if (!containsNoSonar(contents, lineStart, lineEnd) && !isBlank(contents, lineStart, lineEnd)) {
+        comments.set(line);
+      }
+      lineStart = nextLineStart(contents, lineEnd);
+      line++;
+    }
+  }
+
+  /**
+   * Number of lines spanned by given text, consistent with splitting it on "\r\n", "\r" and "\n".
+   */
+  public static int numberOfLines(String text) {
+    int lines = 1;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\n' || (c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))) {
+        lines++;
+      }
+    }
+    return lines;
+  }
+
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r';
+  }
+
+  /**
+   * @return index following the line terminator at given index, or a value greater than length of text at end of text
+   */
+  private static int nextLineStart(String text, int lineEnd) {
+    if (lineEnd >= text.length()) {
+      return lineEnd + 1;
+    }
+    if (text.charAt(lineEnd) == '\r' && lineEnd + 1 < text.length() && text.charAt(lineEnd + 1) == '\n') {
+      return lineEnd + 2;
+    }
+    return lineEnd + 1;
+  }
+
+  /**
+   * Search is bounded by given range, so that it is linear in the length of text, when called for each line of text.
+   */
+  static boolean containsNoSonar(String text, int start, int end) {
+    for (int i = start; i <= end - NOSONAR.length(); i++) {
+      if (text.regionMatches(i, NOSONAR, 0, NOSONAR.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isBlank(String text, int start, int end) {
+    // Implementation of this method was taken from org.sonar.squidbridge.text.Line#isThereBlankComment()
+    // TODO Godin: for some languages we use Character.isLetterOrDigit instead of Character.isWhitespace
+    for (int i = start; i < end; i++) {
+      char character = text.charAt(i);
+      if (!Character.isWhitespace(character) && character != '*' && character != '/') {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public static class JavaCommentAnalyser extends CommentAnalyser {
 
     @Override
     public boolean isBlank(String line) {
-      // Implementation of this method was taken from org.sonar.squidbridge.text.Line#isThereBlankComment()
-      // TODO Godin: for some languages we use Character.isLetterOrDigit instead of Character.isWhitespace
-      for (int i = 0; i < line.length(); i++) {
-        char character = line.charAt(i);
-        if (!Character.isWhitespace(character) && character != '*' && character != '/') {
-          return false;
-        }
-      }
-      return true;
+      return CommentLinesVisitor.isBlank(line, 0, line.length());
     }
 
     @Override
@@ -21,15 +21,20 @@ package org.sonar.java.ast.visitors;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import org.sonar.plugins.java.api.tree.BlockTree;
 import org.sonar.plugins.java.api.tree.CaseLabelTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import javax.annotation.Nullable;
+
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 public class ComplexityVisitor extends SubscriptionVisitor {
 
@@ -38,6 +43,18 @@ public class ComplexityVisitor extends SubscriptionVisitor {
   private Deque<ClassTree> classTrees = new LinkedList<ClassTree>();
   private boolean analyseAccessors;
 
+  private boolean recording;
+  private final Deque<OpenTree> openTrees = new LinkedList<OpenTree>();
+  /**
+   * Complexity of compilation unit, classes and methods, as computed by {@link #scan(Tree)} on each of them.
+   */
+  private final Map<Tree, Integer> complexityByTree = Maps.newIdentityHashMap();
+  /**
+   * Complexity of methods, as computed by {@link #scan(ClassTree, MethodTree)} with the class directly enclosing them.
+   */
+  private final Map<Tree, Integer> complexityInEnclosingClassByMethod = Maps.newIdentityHashMap();
+  private final Map<Tree, ClassTree> enclosingClassByMethod = Maps.newIdentityHashMap();
+
   public ComplexityVisitor(boolean analyseAccessors) {
     this.analyseAccessors = analyseAccessors;
   }
@@ -80,8 +97,52 @@ public class ComplexityVisitor extends SubscriptionVisitor {
     return complexity;
   }
 
+  /**
+   * Computes complexity of the whole file in one pass, and records along the way complexity of each class and method,
+   * so that it can be retrieved with {@link #recordedComplexity(Tree)} and {@link #recordedMethodComplexity(ClassTree, MethodTree)}.
+   */
+  public int scanAndRecord(CompilationUnitTree tree) {
+    complexityByTree.clear();
+    complexityInEnclosingClassByMethod.clear();
+    enclosingClassByMethod.clear();
+    openTrees.clear();
+    recording = true;
+    try {
+      scan(tree);
+    } finally {
+      recording = false;
+    }
+    complexityByTree.put(tree, complexity);
+    return complexity;
+  }
+
+  /**
+   * @return same result as {@link #scan(Tree)}, or null if complexity of this tree was not recorded by last {@link #scanAndRecord(CompilationUnitTree)}
+   */
+  @Nullable
+  public Integer recordedComplexity(Tree tree) {
+    return complexityByTree.get(tree);
+  }
+
+  /**
+   * @return same result as {@link #scan(ClassTree, MethodTree)}, or null if it was not recorded by last {@link #scanAndRecord(CompilationUnitTree)}
+   */
+  @Nullable
+  public Integer recordedMethodComplexity(ClassTree enclosingClass, MethodTree methodTree) {
+    if (enclosingClass != enclosingClassByMethod.get(methodTree)) {
+      return null;
+    }
+    return complexityInEnclosingClassByMethod.get(methodTree);
+  }
+
   @Override
   public void visitNode(Tree tree) {
+    if (recording && (isClass(tree) || isMethod(tree))) {
+      openTrees.push(new OpenTree(complexity));
+      if (isMethod(tree) && !classTrees.isEmpty()) {
+        enclosingClassByMethod.put(tree, classTrees.peek());
+      }
+    }
     if (isClass(tree)) {
       classTrees.push((ClassTree) tree);
     } else if (isMethod(tree)) {
@@ -111,6 +172,9 @@ public class ComplexityVisitor extends SubscriptionVisitor {
     if (block != null) {
       if (classTrees.isEmpty() || !isAccessor(methodTree)) {
         complexity++;
+      } else if (recording) {
+        // not counted because of the enclosing class, which is not visible when complexity of this method is computed alone
+        openTrees.peek().accessor = true;
       }
       if (!block.body().isEmpty() && Iterables.getLast(block.body()).is(Tree.Kind.RETURN_STATEMENT)) {
         //minus one because we are going to count the return with +1
@@ -129,5 +193,26 @@ public class ComplexityVisitor extends SubscriptionVisitor {
     if (isClass(tree)) {
       classTrees.pop();
     }
+    if (recording && (isClass(tree) || isMethod(tree))) {
+      OpenTree openTree = openTrees.pop();
+      int treeComplexity = complexity - openTree.complexityAtStart;
+      if (isMethod(tree)) {
+        complexityInEnclosingClassByMethod.put(tree, treeComplexity);
+        if (openTree.accessor) {
+          treeComplexity++;
+        }
+      }
+      complexityByTree.put(tree, treeComplexity);
+    }
   }
+
+  private static class OpenTree {
+    private final int complexityAtStart;
+    private boolean accessor;
+
+    OpenTree(int complexityAtStart) {
+      this.complexityAtStart = complexityAtStart;
+    }
+  }
+
 }
@@ -19,9 +19,6 @@
  */
 package org.sonar.java.ast.visitors;
 
-import com.google.common.base.Throwables;
-import com.google.common.collect.Sets;
-import com.google.common.io.Files;
 import com.sonar.sslr.api.AstAndTokenVisitor;
 import com.sonar.sslr.api.AstNode;
 import com.sonar.sslr.api.GenericTokenType;
@@ -33,10 +30,8 @@ import org.sonar.java.SonarComponents;
 import org.sonar.squidbridge.SquidAstVisitor;
 import org.sonar.sslr.parser.LexerlessGrammar;
 
-import java.io.IOException;
-import java.nio.charset.Charset;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Saves information about lines directly into Sonar by using {@link FileLinesContext}.
@@ -44,51 +39,44 @@ import java.util.Set;
 public class FileLinesVisitor extends SquidAstVisitor<LexerlessGrammar> implements AstAndTokenVisitor {
 
   private final SonarComponents sonarComponents;
-  private final Charset charset;
-  private final Set<Integer> linesOfCode = Sets.newHashSet();
-  private final Set<Integer> linesOfComments = Sets.newHashSet();
+  private final BitSet linesOfCode = new BitSet();
+  private final BitSet linesOfComments = new BitSet();
+  private int fileLength;
 
-  public FileLinesVisitor(SonarComponents sonarComponents, Charset charset) {
+  public FileLinesVisitor(SonarComponents sonarComponents) {
     this.sonarComponents = sonarComponents;
-    this.charset = charset;
   }
 
   @Override
   public void leaveFile(AstNode astNode) {
     FileLinesContext fileLinesContext = sonarComponents.fileLinesContextFor(getContext().getFile());
 
-    // TODO minimize access to files, another one in LinesVisitor
-    int fileLength;
-    try {
-      fileLength = Files.readLines(getContext().getFile(), charset).size();
-    } catch (IOException e) {
-      throw Throwables.propagate(e);
-    }
     for (int line = 1; line <= fileLength; line++) {
-      fileLinesContext.setIntValue(CoreMetrics.NCLOC_DATA_KEY, line, linesOfCode.contains(line) ? 1 : 0);
-      fileLinesContext.setIntValue(CoreMetrics.COMMENT_LINES_DATA_KEY, line, linesOfComments.contains(line) ? 1 : 0);
+      fileLinesContext.setIntValue(CoreMetrics.NCLOC_DATA_KEY, line, linesOfCode.get(line) ? 1 : 0);
+      fileLinesContext.setIntValue(CoreMetrics.COMMENT_LINES_DATA_KEY, line, linesOfComments.get(line) ? 1 : 0);
     }
     fileLinesContext.save();
 
     linesOfCode.clear();
     linesOfComments.clear();
+    fileLength = 0;
   }
 
   @Override
   public void visitToken(Token token) {
     if (token.getType().equals(GenericTokenType.EOF)) {
+      // EOF token starts a new line only when file ends with a line terminator
+      fileLength = token.getColumn() == 0 ? (token.getLine() - 1) : token.getLine();
       return;
     }
 
-    linesOfCode.add(token.getLine());
+    linesOfCode.set(token.getLine());
     List<Trivia> trivias = token.getTrivia();
     for (Trivia trivia : trivias) {
       if (trivia.isComment()) {
-        int baseLine = trivia.getToken().getLine();
-        String[] lines = trivia.getToken().getOriginalValue().split("(\r)?\n|\r", -1);
-        for (int i = 0; i < lines.length; i++) {
-          linesOfComments.add(baseLine + i);
-        }
+        Token commentToken = trivia.getToken();
+        int startLine = commentToken.getLine();
+        linesOfComments.set(startLine, startLine + CommentLinesVisitor.numberOfLines(commentToken.getOriginalValue()));
       }
     }
   }
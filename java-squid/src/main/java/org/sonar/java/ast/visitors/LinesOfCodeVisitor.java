@@ -20,23 +20,29 @@
 package org.sonar.java.ast.visitors;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Sets;
 import org.sonar.java.model.InternalSyntaxToken;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 
 public class LinesOfCodeVisitor extends SubscriptionVisitor{
 
-  private Set<Integer> lines = Sets.newHashSet();
+  private final BitSet lines = new BitSet();
 
   public int linesOfCode(CompilationUnitTree tree) {
     lines.clear();
     visitTokens(tree);
-    return lines.size();
+    return linesOfCode();
+  }
+
+  /**
+   * Lines of code of tokens visited so far, for use when tokens are fed by another visitor.
+   */
+  public int linesOfCode() {
+    return lines.cardinality();
   }
 
   @Override
@@ -48,7 +54,7 @@ public class LinesOfCodeVisitor extends SubscriptionVisitor{
   public void visitToken(SyntaxToken syntaxToken) {
     InternalSyntaxToken internalSyntaxToken = (InternalSyntaxToken) syntaxToken;
     if(!internalSyntaxToken.isEOF()) {
-      lines.add(internalSyntaxToken.getLine());
+      lines.set(internalSyntaxToken.getLine());
     }
   }
 }
@@ -20,6 +20,7 @@
 package org.sonar.java.ast.visitors;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.sonar.sslr.api.Token;
 import org.sonar.api.utils.ParsingUtils;
 import org.sonar.java.ast.parser.TypeParameterListTreeImpl;
@@ -27,7 +28,6 @@ import org.sonar.java.model.InternalSyntaxToken;
 import org.sonar.java.model.JavaTree;
 import org.sonar.plugins.java.api.tree.AnnotationTree;
 import org.sonar.plugins.java.api.tree.ArrayTypeTree;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
@@ -35,7 +35,6 @@ import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Modifier;
 import org.sonar.plugins.java.api.tree.ModifiersTree;
-import org.sonar.plugins.java.api.tree.NewClassTree;
 import org.sonar.plugins.java.api.tree.ParameterizedTypeTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
@@ -46,8 +45,9 @@ import org.sonar.plugins.java.api.tree.VariableTree;
 import javax.annotation.Nullable;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.List;
 
-public class PublicApiChecker extends BaseTreeVisitor {
+public class PublicApiChecker extends SubscriptionVisitor {
 
   private static final Tree.Kind[] CLASS_KINDS = {
       Tree.Kind.CLASS,
@@ -75,6 +75,7 @@ public class PublicApiChecker extends BaseTreeVisitor {
   private final Deque<Tree> currentParents = new LinkedList<Tree>();
   private double publicApi;
   private double documentedPublicApi;
+  private int newClassDepth;
 
   public static Kind[] classKinds() {
     return CLASS_KINDS.clone();
@@ -88,41 +89,45 @@ public class PublicApiChecker extends BaseTreeVisitor {
     return API_KINDS.clone();
   }
 
+  @Override
+  public List<Tree.Kind> nodesToVisit() {
+    return ImmutableList.<Tree.Kind>builder().add(API_KINDS).add(Tree.Kind.NEW_CLASS).build();
+  }
+
   public void scan(CompilationUnitTree tree) {
     classTrees.clear();
     currentParents.clear();
     publicApi = 0;
     documentedPublicApi = 0;
-    super.scan(tree);
-  }
-
-  @Override
-  public void visitNewClass(NewClassTree tree) {
-    // don't visit anonymous classes, nothing in an anonymous class is part of public api.
+    newClassDepth = 0;
+    scanTree(tree);
   }
 
   @Override
-  public void visitClass(ClassTree tree) {
-    visitNode(tree);
-    super.visitClass(tree);
-    classTrees.pop();
-    currentParents.pop();
-  }
-
-  @Override
-  public void visitVariable(VariableTree tree) {
-    visitNode(tree);
-    super.visitVariable(tree);
+  public void visitNode(Tree tree) {
+    if (tree.is(Tree.Kind.NEW_CLASS)) {
+      // don't visit anonymous classes, nothing in an anonymous class is part of public api.
+      newClassDepth++;
+    } else if (newClassDepth == 0) {
+      countPublicApi(tree);
+    }
   }
 
   @Override
-  public void visitMethod(MethodTree tree) {
-    visitNode(tree);
-    super.visitMethod(tree);
-    currentParents.pop();
+  public void leaveNode(Tree tree) {
+    if (tree.is(Tree.Kind.NEW_CLASS)) {
+      newClassDepth--;
+    } else if (newClassDepth == 0) {
+      if (tree.is(CLASS_KINDS)) {
+        classTrees.pop();
+        currentParents.pop();
+      } else if (tree.is(METHOD_KINDS)) {
+        currentParents.pop();
+      }
+    }
   }
 
-  private void visitNode(Tree tree) {
+  private void countPublicApi(Tree tree) {
     Tree currentParent = currentParents.peek();
     if (tree.is(PublicApiChecker.CLASS_KINDS)) {
       classTrees.push((ClassTree) tree);
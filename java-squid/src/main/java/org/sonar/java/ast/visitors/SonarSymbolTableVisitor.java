@@ -23,9 +23,7 @@ import org.sonar.api.source.Symbol;
 import org.sonar.api.source.Symbolizable;
 import org.sonar.java.model.InternalSyntaxToken;
 import org.sonar.java.resolve.SemanticModel;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.ClassTree;
-import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.EnumConstantTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.ImportTree;
@@ -35,12 +33,16 @@ import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
-public class SonarSymbolTableVisitor extends BaseTreeVisitor {
+import javax.annotation.Nullable;
+
+/**
+ * Creates symbol table of a file from declarations registered in semantic model, so without traversal of syntax tree.
+ */
+public class SonarSymbolTableVisitor {
 
   private final SemanticModel semanticModel;
   private final Symbolizable symbolizable;
   private final Symbolizable.SymbolTableBuilder symbolTableBuilder;
-  private CompilationUnitTree outerClass;
 
   public SonarSymbolTableVisitor(Symbolizable symbolizable, SemanticModel semanticModel) {
     this.symbolizable = symbolizable;
@@ -48,52 +50,37 @@ public class SonarSymbolTableVisitor extends BaseTreeVisitor {
     this.symbolTableBuilder = symbolizable.newSymbolTableBuilder();
   }
 
-  @Override
-  public void visitCompilationUnit(CompilationUnitTree tree) {
-    if (outerClass == null) {
-      outerClass = tree;
-    }
-    super.visitCompilationUnit(tree);
-
-    if (tree.equals(outerClass)) {
-      symbolizable.setSymbolTable(symbolTableBuilder.build());
+  public void createSymbolTable() {
+    for (Tree declaration : semanticModel.getDeclarations()) {
+      IdentifierTree identifier = declaredIdentifier(declaration);
+      if (identifier != null) {
+        createSymbol(declaration, identifier);
+      }
     }
+    symbolizable.setSymbolTable(symbolTableBuilder.build());
   }
 
-  @Override
-  public void visitClass(ClassTree tree) {
-    if (tree.simpleName() != null) {
-      createSymbol(tree, tree.simpleName());
+  @Nullable
+  private static IdentifierTree declaredIdentifier(Tree tree) {
+    if (tree.is(Tree.Kind.CLASS, Tree.Kind.INTERFACE, Tree.Kind.ENUM, Tree.Kind.ANNOTATION_TYPE)) {
+      // null for anonymous classes
+      return ((ClassTree) tree).simpleName();
+    } else if (tree.is(Tree.Kind.VARIABLE)) {
+      return ((VariableTree) tree).simpleName();
+    } else if (tree.is(Tree.Kind.ENUM_CONSTANT)) {
+      return ((EnumConstantTree) tree).simpleName();
+    } else if (tree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR)) {
+      return ((MethodTree) tree).simpleName();
+    } else if (tree.is(Tree.Kind.LABELED_STATEMENT)) {
+      return ((LabeledStatementTree) tree).label();
+    } else if (tree.is(Tree.Kind.IMPORT)) {
+      return importedIdentifier((ImportTree) tree);
     }
-    super.visitClass(tree);
+    return null;
   }
 
-  @Override
-  public void visitVariable(VariableTree tree) {
-    createSymbol(tree, tree.simpleName());
-    super.visitVariable(tree);
-  }
-
-  @Override
-  public void visitEnumConstant(EnumConstantTree tree) {
-    createSymbol(tree, tree.simpleName());
-    super.visitEnumConstant(tree);
-  }
-
-  @Override
-  public void visitMethod(MethodTree tree) {
-    createSymbol(tree, tree.simpleName());
-    super.visitMethod(tree);
-  }
-
-  @Override
-  public void visitLabeledStatement(LabeledStatementTree tree) {
-    createSymbol(tree, tree.label());
-    super.visitLabeledStatement(tree);
-  }
-
-  @Override
-  public void visitImport(ImportTree tree) {
+  @Nullable
+  private static IdentifierTree importedIdentifier(ImportTree tree) {
     IdentifierTree identifierTree;
     if (tree.qualifiedIdentifier().is(Tree.Kind.IDENTIFIER)) {
       identifierTree = (IdentifierTree) tree.qualifiedIdentifier();
@@ -101,10 +88,7 @@ public class SonarSymbolTableVisitor extends BaseTreeVisitor {
       identifierTree = ((MemberSelectExpressionTree) tree.qualifiedIdentifier()).identifier();
     }
     // Exclude on demands imports
-    if (!"*".equals(identifierTree.name())) {
-      createSymbol(tree, identifierTree);
-    }
-    super.visitImport(tree);
+    return "*".equals(identifierTree.name()) ? null : identifierTree;
   }
 
   private void createSymbol(Tree tree, IdentifierTree identifier) {
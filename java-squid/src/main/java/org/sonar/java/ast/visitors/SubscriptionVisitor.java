@@ -32,6 +32,7 @@ import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.api.CodeVisitor;
 
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 
@@ -63,23 +64,25 @@ public abstract class SubscriptionVisitor implements JavaFileScanner, CodeVisito
   @Override
   public void scanFile(JavaFileScannerContext context) {
     this.context = context;
-    semanticModel = (SemanticModel) context.getSemanticModel();
+    semanticModel = null;
     scanTree(context.getTree());
     visitTokens(context.getTree());
   }
 
   protected void scanTree(Tree tree) {
-    nodesToVisit = nodesToVisit();
+    nodesToVisit = subscribedKinds();
     visit(tree);
   }
 
   protected void visitTokens(CompilationUnitTree compilationUnitTree) {
-    if (nodesToVisit().contains(Tree.Kind.TOKEN) || nodesToVisit().contains(Tree.Kind.TRIVIA)) {
+    Collection<Tree.Kind> subscribedKinds = subscribedKinds();
+    boolean visitTrivia = subscribedKinds.contains(Tree.Kind.TRIVIA);
+    if (subscribedKinds.contains(Tree.Kind.TOKEN) || visitTrivia) {
       //FIXME relying on ASTNode to iterate over tokens.
       for (Token token : ((JavaTree) compilationUnitTree).getAstNode().getTokens()) {
         SyntaxToken syntaxToken = new InternalSyntaxToken(token);
         visitToken(syntaxToken);
-        if (nodesToVisit().contains(Tree.Kind.TRIVIA)) {
+        if (visitTrivia) {
           for (SyntaxTrivia syntaxTrivia : syntaxToken.trivias()) {
             visitTrivia(syntaxTrivia);
           }
@@ -89,6 +92,12 @@ public abstract class SubscriptionVisitor implements JavaFileScanner, CodeVisito
   }
 
 
+  private Collection<Tree.Kind> subscribedKinds() {
+    Collection<Tree.Kind> kinds = EnumSet.noneOf(Tree.Kind.class);
+    kinds.addAll(nodesToVisit());
+    return kinds;
+  }
+
   private void visit(Tree tree) {
     boolean isSubscribed = isSubscribed(tree);
     if(isSubscribed) {
@@ -116,11 +125,17 @@ public abstract class SubscriptionVisitor implements JavaFileScanner, CodeVisito
     }
   }
 
+  /**
+   * Semantic model is requested from context only when needed, because it might be built on demand.
+   */
   public SemanticModel getSemanticModel() {
+    if (semanticModel == null) {
+      semanticModel = (SemanticModel) context.getSemanticModel();
+    }
     return semanticModel;
   }
 
   public boolean hasSemantic(){
-    return semanticModel != null;
+    return getSemanticModel() != null;
   }
 }
@@ -54,28 +54,30 @@ public class DependenciesVisitor extends BytecodeVisitor {
   public void visitEdge(AsmEdge edge) {
     AsmClass toAsmClass = edge.getTargetAsmClass();
     Resource toResource = getResource(toAsmClass);
-    Dependency fileEdge = createDependency(fromResource, toResource, null);
-    if (fromResource != null && toResource != null) {
-      createDependency(fromResource.getParent(), toResource.getParent(), fileEdge);
+    // Dependencies between files are created only here, together with their dependency between packages,
+    // so nothing has to be done for a dependency between files which already exists, which is the case for most edges.
+    if (canWeLinkNodes(fromResource, toResource) && graph.getEdge(fromResource, toResource) == null) {
+      Dependency fileEdge = addDependency(fromResource, toResource);
+      addSubDependency(fromResource.getParent(), toResource.getParent(), fileEdge);
     }
   }
 
+  private Dependency addDependency(Resource from, Resource to) {
+    Dependency dependency = new Dependency(from, to).setUsage("USES");
+    graph.addEdge(dependency);
+    return dependency;
+  }
 
-  private Dependency createDependency(@Nullable Resource from, @Nullable Resource to, @Nullable Dependency subDependency) {
-    Dependency dependency = null;
+  private void addSubDependency(@Nullable Resource from, @Nullable Resource to, Dependency subDependency) {
     if (canWeLinkNodes(from, to)) {
-      dependency = graph.getEdge(from, to);
+      Dependency dependency = graph.getEdge(from, to);
       if (dependency == null) {
-        dependency = new Dependency(from, to).setUsage("USES");
-        graph.addEdge(dependency);
-      }
-      if (subDependency != null && !resourceMapping.getSubDependencies(dependency).contains(subDependency)) {
-        resourceMapping.addSubDependency(dependency, subDependency);
-        dependency.setWeight(dependency.getWeight() + 1);
-        subDependency.setParent(dependency);
+        dependency = addDependency(from, to);
       }
+      resourceMapping.addSubDependency(dependency, subDependency);
+      dependency.setWeight(dependency.getWeight() + 1);
+      subDependency.setParent(dependency);
     }
-    return dependency;
   }
 
   private boolean canWeLinkNodes(@Nullable Resource from, @Nullable Resource to) {
@@ -159,6 +159,7 @@ public abstract class JavaTree extends AstNode implements Tree {
     private final List<ImportTree> imports;
     private final List<Tree> types;
     private final List<AnnotationTree> packageAnnotations;
+    private int[] lineStartIndexes;
 
     public CompilationUnitTreeImpl(@Nullable ExpressionTree packageName, List<ImportTree> imports, List<Tree> types, List<AnnotationTree> packageAnnotations, List<AstNode> children) {
       super(Kind.COMPILATION_UNIT);
@@ -213,6 +214,17 @@ public abstract class JavaTree extends AstNode implements Tree {
         );
     }
 
+    /**
+     * @return index in source code of first character of each line, element at index 0 being for line 1
+     */
+    public int[] lineStartIndexes() {
+      return lineStartIndexes;
+    }
+
+    public void setLineStartIndexes(int[] lineStartIndexes) {
+      this.lineStartIndexes = lineStartIndexes;
+    }
+
     public String packageNameAsString() {
       if (packageName == null) {
         return "";
@@ -28,9 +28,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.java.CharsetAwareVisitor;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.ast.visitors.ComplexityVisitor;
 import org.sonar.java.ast.visitors.SonarSymbolTableVisitor;
+import org.sonar.java.resolve.ClasspathIndex;
+import org.sonar.java.resolve.ResolveMetrics;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -58,10 +61,16 @@ public class VisitorsBridge extends SquidAstVisitor<LexerlessGrammar> implements
 
   private final List<JavaFileScanner> scanners;
 
+  private final boolean semanticModelRequired;
+  private CompilationUnitTree tree;
   private SemanticModel semanticModel;
+  private boolean semanticModelCreated;
+  private boolean semanticModelFailed;
   private final SonarComponents sonarComponents;
   private List<File> projectClasspath;
   private boolean analyseAccessors;
+  private ClasspathIndex classpathIndex;
+  private ResolveMetrics resolveMetrics = ResolveMetrics.disabled();
 
   @VisibleForTesting
   public VisitorsBridge(JavaFileScanner visitor) {
@@ -76,13 +85,16 @@ public class VisitorsBridge extends SquidAstVisitor<LexerlessGrammar> implements
 
   public VisitorsBridge(Iterable visitors, @Nullable SonarComponents sonarComponents) {
     ImmutableList.Builder<JavaFileScanner> scannersBuilder = ImmutableList.builder();
+    boolean semanticAwareScanner = false;
     for (Object visitor : visitors) {
       if (visitor instanceof JavaFileScanner) {
         scannersBuilder.add((JavaFileScanner) visitor);
+        semanticAwareScanner |= visitor instanceof SemanticAwareVisitor;
       }
     }
     this.scanners = scannersBuilder.build();
     this.sonarComponents = sonarComponents;
+    this.semanticModelRequired = semanticAwareScanner;
     if (sonarComponents != null) {
       projectClasspath = sonarComponents.getJavaClasspath();
     } else {
@@ -94,6 +106,13 @@ public class VisitorsBridge extends SquidAstVisitor<LexerlessGrammar> implements
     this.analyseAccessors = analyseAccessors;
   }
 
+  /**
+   * @param resolveMetrics receives counters of resolution of symbols for files, for which semantic model was built
+   */
+  public void setResolveMetrics(ResolveMetrics resolveMetrics) {
+    this.resolveMetrics = resolveMetrics;
+  }
+
   @Override
   public void setCharset(Charset charset) {
     for (JavaFileScanner scanner : scanners) {
@@ -103,31 +122,57 @@ public class VisitorsBridge extends SquidAstVisitor<LexerlessGrammar> implements
     }
   }
 
+  /**
+   * Semantic model is built before execution of scanners only if required by one of them,
+   * otherwise it is built on demand, when requested from context.
+   * Scanners are not executed for a file after failure to build its semantic model, whenever it happens.
+   * Symbol table of SonarQube is created only for files, for which semantic model was built.
+   */
   @Override
   public void visitFile(@Nullable AstNode astNode) {
     semanticModel = null;
+    semanticModelCreated = false;
+    semanticModelFailed = false;
     if (astNode != null) {
-      CompilationUnitTree tree = (CompilationUnitTree) astNode;
-      if (isNotJavaLangOrSerializable()) {
-        try {
-          semanticModel = SemanticModel.createFor(tree, getProjectClasspath());
-        } catch (Exception e) {
-          LOG.error("Unable to create symbol table for : " + getContext().getFile().getAbsolutePath(), e);
-          return;
-        }
-        createSonarSymbolTable(tree);
-      } else {
+      tree = (CompilationUnitTree) astNode;
+      if (!isNotJavaLangOrSerializable()) {
         SemanticModel.handleMissingTypes(tree);
+        semanticModelCreated = true;
+      } else if (semanticModelRequired) {
+        semanticModel();
       }
-      JavaFileScannerContext context = new DefaultJavaFileScannerContext(tree, (SourceFile) getContext().peekSourceCode(), getContext().getFile(), semanticModel, analyseAccessors);
+      JavaFileScannerContext context = new DefaultJavaFileScannerContext(tree, (SourceFile) getContext().peekSourceCode(), getContext().getFile(), analyseAccessors);
       for (JavaFileScanner scanner : scanners) {
+        if (semanticModelFailed) {
+          break;
+        }
         scanner.scanFile(context);
       }
       if (semanticModel != null) {
+        createSonarSymbolTable();
         // Close class loader after all the checks.
         semanticModel.done();
+        resolveMetrics.endFile();
+      }
+    }
+  }
+
+  /**
+   * @return null if semantic model can't be created for current file
+   */
+  @Nullable
+  private SemanticModel semanticModel() {
+    if (!semanticModelCreated) {
+      semanticModelCreated = true;
+      try {
+        resolveMetrics.startFile(getContext().getFile().getPath());
+        semanticModel = SemanticModel.createFor(tree, getClasspathIndex(), resolveMetrics);
+      } catch (Exception e) {
+        semanticModelFailed = true;
+        LOG.error("Unable to create symbol table for : " + getContext().getFile().getAbsolutePath(), e);
       }
     }
+    return semanticModel;
   }
 
   private boolean isNotJavaLangOrSerializable() {
@@ -139,29 +184,34 @@ public class VisitorsBridge extends SquidAstVisitor<LexerlessGrammar> implements
     return !(isJavaLang || isJavaLangAnnotation || isSerializable);
   }
 
-  private List<File> getProjectClasspath() {
-    return projectClasspath;
+  /**
+   * Index is created on first demand and shared between all files.
+   */
+  private ClasspathIndex getClasspathIndex() {
+    if (classpathIndex == null) {
+      classpathIndex = ClasspathIndex.create(projectClasspath);
+    }
+    return classpathIndex;
   }
 
-  private void createSonarSymbolTable(CompilationUnitTree tree) {
+  private void createSonarSymbolTable() {
     if (sonarComponents != null) {
       SonarSymbolTableVisitor symVisitor = new SonarSymbolTableVisitor(sonarComponents.symbolizableFor(getContext().getFile()), semanticModel);
-      symVisitor.visitCompilationUnit(tree);
+      symVisitor.createSymbolTable();
     }
   }
 
-  private static class DefaultJavaFileScannerContext implements JavaFileScannerContext {
+  private class DefaultJavaFileScannerContext implements JavaFileScannerContext {
     private final CompilationUnitTree tree;
     private final SourceFile sourceFile;
-    private final SemanticModel semanticModel;
     private final ComplexityVisitor complexityVisitor;
     private final File file;
+    private boolean complexityRecorded;
 
-    public DefaultJavaFileScannerContext(CompilationUnitTree tree, SourceFile sourceFile, File file, SemanticModel semanticModel, boolean analyseAccessors) {
+    public DefaultJavaFileScannerContext(CompilationUnitTree tree, SourceFile sourceFile, File file, boolean analyseAccessors) {
       this.tree = tree;
       this.sourceFile = sourceFile;
       this.file = file;
-      this.semanticModel = semanticModel;
       this.complexityVisitor = new ComplexityVisitor(analyseAccessors);
     }
 
@@ -195,7 +245,7 @@ public class VisitorsBridge extends SquidAstVisitor<LexerlessGrammar> implements
     @Override
     @Nullable
     public Object getSemanticModel() {
-      return semanticModel;
+      return semanticModel();
     }
 
     @Override
@@ -210,12 +260,26 @@ public class VisitorsBridge extends SquidAstVisitor<LexerlessGrammar> implements
 
     @Override
     public int getComplexity(Tree tree) {
-      return complexityVisitor.scan(tree);
+      recordComplexity();
+      Integer complexity = complexityVisitor.recordedComplexity(tree);
+      return complexity == null ? complexityVisitor.scan(tree) : complexity;
     }
 
     @Override
     public int getMethodComplexity(ClassTree enclosingClass, MethodTree methodTree) {
-      return complexityVisitor.scan(enclosingClass, methodTree);
+      recordComplexity();
+      Integer complexity = complexityVisitor.recordedMethodComplexity(enclosingClass, methodTree);
+      return complexity == null ? complexityVisitor.scan(enclosingClass, methodTree) : complexity;
+    }
+
+    /**
+     * Complexity of the file, its classes and methods is computed once for all scanners.
+     */
+    private void recordComplexity() {
+      if (!complexityRecorded) {
+        complexityVisitor.scanAndRecord(tree);
+        complexityRecorded = true;
+      }
     }
 
     @Override
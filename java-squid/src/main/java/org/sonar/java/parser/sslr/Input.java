@@ -19,12 +19,9 @@
  */
 package org.sonar.java.parser.sslr;
 
-import com.google.common.collect.Lists;
-
 import java.io.File;
 import java.net.URI;
 import java.util.Arrays;
-import java.util.List;
 
 public class Input {
 
@@ -32,7 +29,7 @@ public class Input {
 
   private final char[] input;
   private final URI uri;
-  private final int[] newLineIndexes;
+  private final int[] lineStartIndexes;
 
   public Input(char[] input) {
     this(input, FAKE_URI);
@@ -42,15 +39,19 @@ public class Input {
     this.input = input;
     this.uri = uri;
 
-    List<Integer> newLineIndexesBuilder = Lists.newArrayList();
+    int lines = 1;
     for (int i = 0; i < input.length; i++) {
       if (isNewLine(input, i)) {
-        newLineIndexesBuilder.add(i + 1);
+        lines++;
       }
     }
-    this.newLineIndexes = new int[newLineIndexesBuilder.size()];
-    for (int i = 0; i < newLineIndexes.length; i++) {
-      this.newLineIndexes[i] = newLineIndexesBuilder.get(i);
+    this.lineStartIndexes = new int[lines];
+    int line = 1;
+    for (int i = 0; i < input.length; i++) {
+      if (isNewLine(input, i)) {
+        lineStartIndexes[line] = i + 1;
+        line++;
+      }
     }
   }
 
@@ -77,13 +78,20 @@ public class Input {
     return result;
   }
 
+  /**
+   * @return index of first character of each line, element at index 0 being for line 1
+   */
+  public int[] lineStartIndexes() {
+    return lineStartIndexes;
+  }
+
   private int lineAt(int index) {
-    int i = Arrays.binarySearch(newLineIndexes, index);
-    return i >= 0 ? i + 2 : -i;
+    int i = Arrays.binarySearch(lineStartIndexes, index);
+    return i >= 0 ? i + 1 : -i - 1;
   }
 
   private int lineStartIndex(int line) {
-    return line == 1 ? 0 : newLineIndexes[line - 2];
+    return lineStartIndexes[line - 1];
   }
 
   /**
@@ -56,7 +56,8 @@ public class BytecodeCompleter implements Symbol.Completer {
       Flags.ABSTRACT | Flags.STRICTFP;
 
   private Symbols symbols;
-  private final List<File> projectClasspath;
+  private final ClasspathIndex classpathIndex;
+  private final ResolveMetrics metrics;
 
   /**
    * Indexed by flat name.
@@ -67,7 +68,22 @@ public class BytecodeCompleter implements Symbol.Completer {
   private ClassLoader classLoader;
 
   public BytecodeCompleter(List<File> projectClasspath) {
-    this.projectClasspath = projectClasspath;
+    this(ClasspathIndex.notIndexed(projectClasspath));
+  }
+
+  /**
+   * @param classpathIndex classes of project classpath, which can be shared between completers of different files
+   */
+  public BytecodeCompleter(ClasspathIndex classpathIndex) {
+    this(classpathIndex, ResolveMetrics.disabled());
+  }
+
+  /**
+   * @param metrics receives counters of completions and lookups of classes
+   */
+  public BytecodeCompleter(ClasspathIndex classpathIndex, ResolveMetrics metrics) {
+    this.classpathIndex = classpathIndex;
+    this.metrics = metrics;
   }
 
   public void init(Symbols symbols) {
@@ -84,6 +100,7 @@ public class BytecodeCompleter implements Symbol.Completer {
   @Override
   public void complete(Symbol symbol) {
     LOG.debug("Completing symbol : " + symbol.name);
+    long start = metrics.isEnabled() ? System.nanoTime() : 0;
     String bytecodeName = formFullName(symbol);
     Symbol.TypeSymbol classSymbol = getClassSymbol(bytecodeName);
     Preconditions.checkState(classSymbol == symbol);
@@ -101,6 +118,9 @@ public class BytecodeCompleter implements Symbol.Completer {
     if (classReader != null) {
       classReader.accept(new BytecodeVisitor((Symbol.TypeSymbol) symbol), ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
     }
+    if (metrics.isEnabled()) {
+      metrics.classCompleted(bytecodeName, System.nanoTime() - start);
+    }
   }
 
   private InputStream inputStreamFor(String fullname) {
@@ -109,7 +129,7 @@ public class BytecodeCompleter implements Symbol.Completer {
 
   private ClassLoader getClassLoader() {
     if (classLoader == null) {
-      classLoader = ClassLoaderBuilder.create(projectClasspath);
+      classLoader = ClassLoaderBuilder.create(classpathIndex.classpath());
     }
     return classLoader;
   }
@@ -142,7 +162,10 @@ public class BytecodeCompleter implements Symbol.Completer {
   private Symbol.TypeSymbol getClassSymbol(String bytecodeName, int flags) {
     String flatName = Convert.flatName(bytecodeName);
     Symbol.TypeSymbol symbol = classes.get(flatName);
-    if (symbol == null) {
+    if (symbol != null) {
+      metrics.increment(ResolveMetrics.Counter.CLASS_TABLE_HITS);
+    } else {
+      metrics.increment(ResolveMetrics.Counter.CLASS_TABLE_MISSES);
       String shortName = Convert.shortName(flatName);
       String packageName = Convert.packagePart(flatName);
       String enclosingClassName = Convert.enclosingClassName(shortName);
@@ -155,10 +178,11 @@ public class BytecodeCompleter implements Symbol.Completer {
       symbol.members = new Scope(symbol);
 
       // (Godin): IOException will happen without this condition in case of missing class:
-      if (getClassLoader().getResource(Convert.bytecodeName(flatName) + ".class") != null) {
+      if (classFileExists(Convert.bytecodeName(flatName))) {
         symbol.completer = this;
       } else {
         LOG.error("Class not found: " + bytecodeName);
+        metrics.increment(ResolveMetrics.Counter.MISSING_CLASSES);
         // TODO(Godin): why only interfaces, but not supertype for example?
         ((Type.ClassType) symbol.type).interfaces = ImmutableList.of();
       }
@@ -168,14 +192,28 @@ public class BytecodeCompleter implements Symbol.Completer {
     return symbol;
   }
 
+  /**
+   * Class loader is probed only if class is not in index and index is incomplete.
+   */
+  private boolean classFileExists(String bytecodeName) {
+    if (classpathIndex.contains(bytecodeName)) {
+      return true;
+    }
+    if (classpathIndex.isComplete()) {
+      return false;
+    }
+    metrics.increment(ResolveMetrics.Counter.CLASSPATH_PROBES);
+    return getClassLoader().getResource(bytecodeName + ".class") != null;
+  }
+
   private int filterBytecodeFlags(int flags) {
     return flags & ACCEPTABLE_BYTECODE_FLAGS;
   }
 
   /**
    * <b>Note:</b> Attempt to find something like "java.class" on case-insensitive file system can result in unwanted loading of "JAVA.class".
-   * This method performs check of class name within file in order to avoid such situation.
-   * This is definitely not the best solution in terms of performance, but acceptable for now.
+   * Names in {@link ClasspathIndex} are case-sensitive, so this method performs check of class name within file in order to avoid such situation
+   * only for classes which are not in index.
    *
    * @return symbol for requested class, if corresponding class file exists, and {@link Resolve.SymbolNotFound} otherwise
    */
@@ -183,12 +221,19 @@ public class BytecodeCompleter implements Symbol.Completer {
   public Symbol loadClass(String fullname) {
     Symbol.TypeSymbol symbol = classes.get(fullname);
     if(symbol != null) {
+      metrics.increment(ResolveMetrics.Counter.CLASS_TABLE_HITS);
       return symbol;
     }
 
-    // TODO(Godin): pull out conversion of name from the next method to avoid unnecessary conversion afterwards:
-    InputStream inputStream = inputStreamFor(fullname);
     String bytecodeName = Convert.bytecodeName(fullname);
+    if (classpathIndex.contains(bytecodeName)) {
+      return getClassSymbol(fullname);
+    }
+    InputStream inputStream = null;
+    if (!classpathIndex.isComplete()) {
+      metrics.increment(ResolveMetrics.Counter.CLASSPATH_PROBES);
+      inputStream = inputStreamFor(fullname);
+    }
 
     if (inputStream == null) {
       return new Resolve.SymbolNotFound();
@@ -415,7 +460,7 @@ public class BytecodeCompleter implements Symbol.Completer {
           result = symbols.booleanType;
           break;
         case org.objectweb.asm.Type.ARRAY:
-          result = new Type.ArrayType(convertAsmType(asmType.getElementType()), symbols.arrayClass);
+          result = symbols.arrayType(convertAsmType(asmType.getElementType()));
           break;
         case org.objectweb.asm.Type.VOID:
           result = symbols.voidType;
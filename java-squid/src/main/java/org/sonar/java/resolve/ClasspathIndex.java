@@ -0,0 +1,195 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Names of class files available in classpath of project and in boot classpath of JVM,
+ * so that existence of a class can be checked without probing of class loader.
+ * Names are case-sensitive, so unlike resources of class loader, they are not subject to case-insensitivity of file system.
+ * <p/>
+ * Index is complete only if all its entries were readable and boot classpath of JVM is known,
+ * otherwise absence of class in index doesn't mean that class doesn't exist.
+ */
+public class ClasspathIndex {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClasspathIndex.class);
+
+  private static final String CLASS_EXTENSION = ".class";
+
+  /**
+   * Boot classpath doesn't change during life of JVM, so indexed, and absence of it logged, only once. Null if it can't be indexed.
+   */
+  private static Set<String> bootClasses;
+  private static boolean bootClassesIndexed;
+
+  private final List<File> classpath;
+  private final Set<String> classes;
+  private final Set<String> boot;
+  private final boolean complete;
+
+  private ClasspathIndex(List<File> classpath, Set<String> classes, Set<String> boot, boolean complete) {
+    this.classpath = classpath;
+    this.classes = classes;
+    this.boot = boot;
+    this.complete = complete;
+  }
+
+  /**
+   * Index which knows nothing, so that existence of classes is checked by probing of class loader.
+   */
+  public static ClasspathIndex notIndexed(List<File> classpath) {
+    return new ClasspathIndex(classpath, ImmutableSet.<String>of(), ImmutableSet.<String>of(), false);
+  }
+
+  public static ClasspathIndex create(List<File> classpath) {
+    return create(classpath, bootClasses());
+  }
+
+  /**
+   * @param boot classes of boot classpath, null if unknown, e.g. on Java 9 and later, where "sun.boot.class.path" is not defined
+   */
+  @VisibleForTesting
+  static ClasspathIndex create(List<File> classpath, @Nullable Set<String> boot) {
+    Set<String> classes = Sets.newHashSet();
+    boolean complete = index(classpath, classes);
+    if (boot == null) {
+      return new ClasspathIndex(ImmutableList.copyOf(classpath), classes, ImmutableSet.<String>of(), false);
+    }
+    return new ClasspathIndex(ImmutableList.copyOf(classpath), classes, boot, complete);
+  }
+
+  private static synchronized Set<String> bootClasses() {
+    if (!bootClassesIndexed) {
+      bootClassesIndexed = true;
+      bootClasses = indexBootClasspath(System.getProperty("sun.boot.class.path"));
+    }
+    return bootClasses;
+  }
+
+  @VisibleForTesting
+  @Nullable
+  static Set<String> indexBootClasspath(@Nullable String bootClasspath) {
+    if (bootClasspath == null) {
+      LOG.debug("Boot classpath is unknown, existence of JDK classes will be checked by class loader");
+      return null;
+    }
+    List<File> files = Lists.newArrayList();
+    for (String path : Splitter.on(File.pathSeparatorChar).omitEmptyStrings().split(bootClasspath)) {
+      files.add(new File(path));
+    }
+    Set<String> classes = Sets.newHashSet();
+    if (!index(files, classes) || classes.isEmpty()) {
+      return null;
+    }
+    return ImmutableSet.copyOf(classes);
+  }
+
+  /**
+   * Entries are handled in the same way as by {@link org.sonar.java.bytecode.loader.SquidClassLoader}.
+   *
+   * @return false if some entry was not readable
+   */
+  private static boolean index(List<File> files, Set<String> classes) {
+    boolean complete = true;
+    for (File file : files) {
+      if (file.isDirectory()) {
+        indexDirectory(file, "", classes);
+      } else if (file.isFile() && file.getName().endsWith(".jar")) {
+        complete &= indexJar(file, classes);
+      }
+    }
+    return complete;
+  }
+
+  private static void indexDirectory(File dir, String prefix, Set<String> classes) {
+    File[] children = dir.listFiles();
+    if (children == null) {
+      return;
+    }
+    for (File child : children) {
+      String name = child.getName();
+      if (child.isDirectory()) {
+        indexDirectory(child, prefix + name + "/", classes);
+      } else if (name.endsWith(CLASS_EXTENSION)) {
+        classes.add(prefix + name.substring(0, name.length() - CLASS_EXTENSION.length()));
+      }
+    }
+  }
+
+  private static boolean indexJar(File file, Set<String> classes) {
+    ZipFile zipFile = null;
+    try {
+      zipFile = new ZipFile(file);
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        String name = entries.nextElement().getName();
+        if (name.endsWith(CLASS_EXTENSION)) {
+          classes.add(name.substring(0, name.length() - CLASS_EXTENSION.length()));
+        }
+      }
+      return true;
+    } catch (IOException e) {
+      LOG.warn("Unable to index classes of " + file.getAbsolutePath(), e);
+      return false;
+    } finally {
+      if (zipFile != null) {
+        try {
+          zipFile.close();
+        } catch (IOException e) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  public List<File> classpath() {
+    return classpath;
+  }
+
+  /**
+   * @param bytecodeName name of class as it appears in bytecode, i.e. "org/example/MyClass$InnerClass"
+   */
+  public boolean contains(String bytecodeName) {
+    return classes.contains(bytecodeName) || boot.contains(bytecodeName);
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.collect.Lists;
+import com.sonar.sslr.api.Token;
+import org.sonar.java.model.JavaTree;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Assignments and usages of a local variable, ordered by position in file.
+ */
+public class DefUseChain {
+
+  static final DefUseChain EMPTY = new DefUseChain();
+
+  private static final Comparator<Tree> BY_POSITION = new Comparator<Tree>() {
+    @Override
+    public int compare(Tree tree1, Tree tree2) {
+      return comparePositions(tree1, tree2);
+    }
+  };
+
+  private final List<AssignmentExpressionTree> assignments = Lists.newArrayList();
+  private final List<IdentifierTree> usages = Lists.newArrayList();
+
+  void addAssignment(AssignmentExpressionTree assignment) {
+    assignments.add(assignment);
+  }
+
+  void addUsage(IdentifierTree usage) {
+    usages.add(usage);
+  }
+
+  /**
+   * Trees are collected in order of visit, which almost always matches order of positions.
+   */
+  void sort() {
+    Collections.sort(assignments, BY_POSITION);
+    Collections.sort(usages, BY_POSITION);
+  }
+
+  /**
+   * @return assignments to variable, including compound ones, but not its declaration
+   */
+  public List<AssignmentExpressionTree> assignments() {
+    return Collections.unmodifiableList(assignments);
+  }
+
+  /**
+   * @return all usages of variable, including the ones on left side of assignments
+   */
+  public List<IdentifierTree> usages() {
+    return Collections.unmodifiableList(usages);
+  }
+
+  /**
+   * @return assignments which start before given tree
+   */
+  public List<AssignmentExpressionTree> assignmentsBefore(Tree tree) {
+    int count = 0;
+    while (count < assignments.size() && comparePositions(assignments.get(count), tree) < 0) {
+      count++;
+    }
+    return Collections.unmodifiableList(assignments.subList(0, count));
+  }
+
+  private static int comparePositions(Tree tree1, Tree tree2) {
+    Token token1 = ((JavaTree) tree1).getAstNode().getToken();
+    Token token2 = ((JavaTree) tree2).getAstNode().getToken();
+    if (token1.getLine() != token2.getLine()) {
+      return token1.getLine() - token2.getLine();
+    }
+    return token1.getColumn() - token2.getColumn();
+  }
+
+}
@@ -407,13 +407,30 @@ public class Resolve {
   }
 
   public Symbol findMethod(Env env, Symbol.TypeSymbol site, String name, List<Type> argTypes) {
-    Symbol bestSoFar = symbolNotFound;
+    Symbol bestSoFar = findMethod(env, site, argTypes, site.lookupDeclaredMethods(name));
+    if (bestSoFar.kind < Symbol.ERRONEOUS || bestSoFar.kind == Symbol.AMBIGUOUS) {
+      return bestSoFar;
+    }
+    Symbol sym = findMethod(env, site, argTypes, site.lookupInheritedMethods(name));
+    if (sym.kind < Symbol.ERRONEOUS || sym.kind == Symbol.AMBIGUOUS) {
+      return sym;
+    } else if (sym.kind < bestSoFar.kind) {
+      bestSoFar = sym;
+    }
+    sym = findInStaticImport(env, name, Symbol.MTH);
+    if (sym.kind < Symbol.ERRONEOUS) {
+      // symbol exists
+      return sym;
+    } else if (sym.kind < bestSoFar.kind) {
+      bestSoFar = sym;
+    }
+    return bestSoFar;
+  }
 
-    // TODO search in supertypes
-    for (Symbol symbol : site.members().lookup(name)) {
-      if (symbol.kind == Symbol.MTH) {
-        bestSoFar = selectBest(env, site, argTypes, symbol, bestSoFar);
-      }
+  private Symbol findMethod(Env env, Symbol.TypeSymbol site, List<Type> argTypes, List<Symbol> candidates) {
+    Symbol bestSoFar = symbolNotFound;
+    for (Symbol symbol : candidates) {
+      bestSoFar = selectBest(env, site, argTypes, symbol, bestSoFar);
     }
 
     // best guess: method with unique name
@@ -421,21 +438,14 @@ public class Resolve {
     if (bestSoFar.kind < Symbol.ERRONEOUS) {
       return bestSoFar;
     }
-    for (Symbol symbol : site.enclosingClass().members().lookup(name)) {
-      if ((symbol.kind == Symbol.MTH) && isAccessible(env, site, symbol)) {
+    for (Symbol symbol : candidates) {
+      if (isAccessible(env, site, symbol)) {
         if (bestSoFar.kind < Symbol.ERRONEOUS) {
           return new AmbiguityErrorSymbol();
         }
         bestSoFar = symbol;
       }
     }
-    Symbol sym = findInStaticImport(env, name, Symbol.MTH);
-    if (sym.kind < Symbol.ERRONEOUS) {
-      // symbol exists
-      return sym;
-    } else if (sym.kind < bestSoFar.kind) {
-      bestSoFar = sym;
-    }
     return bestSoFar;
   }
 
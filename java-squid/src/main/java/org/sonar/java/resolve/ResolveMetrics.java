@@ -0,0 +1,209 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Longs;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters of resolution of symbols, collected for each file, for which semantic model was built,
+ * in order to find out why analysis of some files is slow.
+ * Time of completion of classes is included into time of pass, which triggered it.
+ */
+public class ResolveMetrics {
+
+  public enum Counter {
+    COMPLETED_CLASSES,
+    /**
+     * Lookups of class files through class loader, i.e. not answered by {@link ClasspathIndex}.
+     */
+    CLASSPATH_PROBES,
+    CLASS_TABLE_HITS,
+    CLASS_TABLE_MISSES,
+    MISSING_CLASSES,
+    FIRST_PASS_NANOS,
+    TYPE_AND_REFERENCE_SOLVER_NANOS,
+    COMPLETION_NANOS
+  }
+
+  private static final ResolveMetrics DISABLED = new ResolveMetrics(false);
+
+  private final boolean enabled;
+  private final List<FileMetrics> files = Lists.newArrayList();
+  private final long[] totals = new long[Counter.values().length];
+  private final Map<String, Long> completionNanosByClass = Maps.newHashMap();
+  private FileMetrics current;
+
+  public ResolveMetrics() {
+    this(true);
+  }
+
+  private ResolveMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * @return instance which doesn't record anything
+   */
+  public static ResolveMetrics disabled() {
+    return DISABLED;
+  }
+
+  /**
+   * @return false if this instance doesn't record anything, so that callers can skip measurements
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts recording for a file. Counters of a file, which was started but not ended, are discarded.
+   */
+  public void startFile(String file) {
+    if (enabled) {
+      current = new FileMetrics(file);
+    }
+  }
+
+  public void endFile() {
+    if (current != null) {
+      files.add(current);
+      for (int i = 0; i < totals.length; i++) {
+        totals[i] += current.counters[i];
+      }
+      current = null;
+    }
+  }
+
+  void increment(Counter counter) {
+    add(counter, 1);
+  }
+
+  void add(Counter counter, long value) {
+    if (current != null) {
+      current.counters[counter.ordinal()] += value;
+    }
+  }
+
+  void classCompleted(String name, long nanos) {
+    if (current != null) {
+      increment(Counter.COMPLETED_CLASSES);
+      add(Counter.COMPLETION_NANOS, nanos);
+      Long previous = completionNanosByClass.get(name);
+      completionNanosByClass.put(name, previous == null ? nanos : (previous + nanos));
+    }
+  }
+
+  public long getTotal(Counter counter) {
+    return totals[counter.ordinal()];
+  }
+
+  public List<FileMetrics> getFiles() {
+    return Collections.unmodifiableList(files);
+  }
+
+  /**
+   * @return files sorted by decreasing time spent in resolution
+   */
+  public List<FileMetrics> getSlowestFiles(int count) {
+    List<FileMetrics> result = Lists.newArrayList(files);
+    Collections.sort(result, new Comparator<FileMetrics>() {
+      @Override
+      public int compare(FileMetrics m1, FileMetrics m2) {
+        return Longs.compare(m2.getResolutionNanos(), m1.getResolutionNanos());
+      }
+    });
+    return ImmutableList.copyOf(result.subList(0, Math.min(count, result.size())));
+  }
+
+  /**
+   * @return names of classes sorted by decreasing time of their completion, summed over all files
+   */
+  public List<Map.Entry<String, Long>> getMostExpensiveClasses(int count) {
+    List<Map.Entry<String, Long>> result = Lists.newArrayList(completionNanosByClass.entrySet());
+    Collections.sort(result, new Comparator<Map.Entry<String, Long>>() {
+      @Override
+      public int compare(Map.Entry<String, Long> e1, Map.Entry<String, Long> e2) {
+        return Longs.compare(e2.getValue(), e1.getValue());
+      }
+    });
+    return ImmutableList.copyOf(result.subList(0, Math.min(count, result.size())));
+  }
+
+  public String report(int count) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Resolution of symbols in ").append(files.size()).append(" files: ")
+      .append("first pass ").append(millis(getTotal(Counter.FIRST_PASS_NANOS))).append(" ms, ")
+      .append("type and reference solver ").append(millis(getTotal(Counter.TYPE_AND_REFERENCE_SOLVER_NANOS))).append(" ms, ")
+      .append(getTotal(Counter.COMPLETED_CLASSES)).append(" classes completed in ").append(millis(getTotal(Counter.COMPLETION_NANOS))).append(" ms, ")
+      .append(getTotal(Counter.CLASS_TABLE_HITS)).append(" class table hits, ")
+      .append(getTotal(Counter.CLASS_TABLE_MISSES)).append(" misses, ")
+      .append(getTotal(Counter.CLASSPATH_PROBES)).append(" classpath probes, ")
+      .append(getTotal(Counter.MISSING_CLASSES)).append(" missing classes");
+    sb.append("\nSlowest files:");
+    for (FileMetrics file : getSlowestFiles(count)) {
+      sb.append("\n  ").append(file.getFile()).append(": ").append(millis(file.getResolutionNanos())).append(" ms, ")
+        .append(file.get(Counter.COMPLETED_CLASSES)).append(" classes completed in ").append(millis(file.get(Counter.COMPLETION_NANOS))).append(" ms, ")
+        .append(file.get(Counter.MISSING_CLASSES)).append(" missing classes");
+    }
+    sb.append("\nMost expensive classes:");
+    for (Map.Entry<String, Long> entry : getMostExpensiveClasses(count)) {
+      sb.append("\n  ").append(entry.getKey()).append(": ").append(millis(entry.getValue())).append(" ms");
+    }
+    return sb.toString();
+  }
+
+  private static long millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  public static class FileMetrics {
+    private final String file;
+    private final long[] counters = new long[Counter.values().length];
+
+    FileMetrics(String file) {
+      this.file = file;
+    }
+
+    public String getFile() {
+      return file;
+    }
+
+    public long get(Counter counter) {
+      return counters[counter.ordinal()];
+    }
+
+    /**
+     * @return time spent in first pass and in type and reference solver, including completion of classes triggered by them
+     */
+    public long getResolutionNanos() {
+      return get(Counter.FIRST_PASS_NANOS) + get(Counter.TYPE_AND_REFERENCE_SOLVER_NANOS);
+    }
+  }
+
+}
@@ -19,22 +19,39 @@
  */
 package org.sonar.java.resolve;
 
-import com.google.common.collect.ArrayListMultimap;
+import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents an area of visibility.
+ * Symbols are stored in order of entering. Small scopes, such as most of blocks and methods, are searched linearly,
+ * bigger ones are indexed by name in an open-addressed hash table.
  */
 public class Scope {
 
+  private static final int INLINE_CAPACITY = 8;
+  private static final Symbol[] NO_SYMBOLS = new Symbol[0];
+
   final Symbol owner;
   final Scope next;
 
-  protected ArrayListMultimap<String, Symbol> symbols = ArrayListMultimap.create();
+  private Symbol[] symbols = NO_SYMBOLS;
+  private int size;
+
+  /**
+   * Position plus one of first symbol with a given name, zero for free slot. Null until scope exceeds {@link #INLINE_CAPACITY}.
+   */
+  private int[] index;
+  /**
+   * Position plus one of next symbol with same name, zero for last one.
+   */
+  private int[] nextWithSameName;
 
   public Scope(Symbol owner) {
     this.owner = owner;
@@ -47,19 +64,109 @@ public class Scope {
   }
 
   public void enter(Symbol symbol) {
-    symbols.put(symbol.name, symbol);
+    if (size == symbols.length) {
+      symbols = Arrays.copyOf(symbols, Math.max(INLINE_CAPACITY, size * 2));
+    }
+    symbols[size] = symbol;
+    size++;
+    if (index != null && size * 2 <= index.length) {
+      addToIndex(size - 1);
+    } else if (size > INLINE_CAPACITY) {
+      buildIndex(Integer.highestOneBit(size) * 4);
+    }
   }
 
   public List<Symbol> lookup(String name) {
     Scope scope = this;
-    while (scope != null && !scope.symbols.containsKey(name)) {
+    while (scope != null) {
+      List<Symbol> result = scope.lookupInScope(name);
+      if (result != null) {
+        return result;
+      }
       scope = scope.next;
     }
-    return scope == null ? ImmutableList.<Symbol>of() : scope.symbols.get(name);
+    return ImmutableList.of();
   }
 
+  /**
+   * @return symbols in order of entering, list is not affected by symbols entered later
+   */
   public Collection<Symbol> scopeSymbols() {
-    return ImmutableList.copyOf(symbols.values());
+    if (size == 0) {
+      return ImmutableList.of();
+    }
+    return Collections.unmodifiableList(Arrays.asList(symbols).subList(0, size));
+  }
+
+  /**
+   * @return null if there is no symbol with given name in this scope
+   */
+  private List<Symbol> lookupInScope(String name) {
+    if (index == null) {
+      List<Symbol> result = null;
+      for (int i = 0; i < size; i++) {
+        if (Objects.equal(name, symbols[i].name)) {
+          result = add(result, symbols[i]);
+        }
+      }
+      return result;
+    }
+    int position = index[slot(name)];
+    if (position == 0) {
+      return null;
+    }
+    List<Symbol> result = null;
+    while (position != 0) {
+      result = add(result, symbols[position - 1]);
+      position = nextWithSameName[position - 1];
+    }
+    return result;
+  }
+
+  private static List<Symbol> add(List<Symbol> result, Symbol symbol) {
+    if (result == null) {
+      return ImmutableList.of(symbol);
+    }
+    List<Symbol> overloads = result.size() == 1 ? Lists.newArrayList(result) : result;
+    overloads.add(symbol);
+    return overloads;
+  }
+
+  private void buildIndex(int capacity) {
+    index = new int[capacity];
+    nextWithSameName = new int[symbols.length];
+    for (int i = 0; i < size; i++) {
+      addToIndex(i);
+    }
+  }
+
+  private void addToIndex(int position) {
+    if (nextWithSameName.length < symbols.length) {
+      nextWithSameName = Arrays.copyOf(nextWithSameName, symbols.length);
+    }
+    int slot = slot(symbols[position].name);
+    if (index[slot] == 0) {
+      index[slot] = position + 1;
+    } else {
+      int last = index[slot] - 1;
+      while (nextWithSameName[last] != 0) {
+        last = nextWithSameName[last] - 1;
+      }
+      nextWithSameName[last] = position + 1;
+    }
+  }
+
+  /**
+   * @return slot of symbols with given name, or free slot where they should be put
+   */
+  private int slot(String name) {
+    int mask = index.length - 1;
+    int hash = name == null ? 0 : name.hashCode();
+    int slot = (hash ^ (hash >>> 16)) & mask;
+    while (index[slot] != 0 && !Objects.equal(name, symbols[index[slot] - 1].name)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
   }
 
   public static class StarImportScope extends Scope {
@@ -74,7 +181,7 @@ public class Scope {
     @Override
     public List<Symbol> lookup(String name) {
       List<Symbol> symbolsList = Lists.newArrayList();
-      for (Symbol site : symbols.values()) {
+      for (Symbol site : scopeSymbols()) {
         Symbol symbol = bytecodeCompleter.loadClass(bytecodeCompleter.formFullName(name, site));
         if (symbol.kind < Symbol.ERRONEOUS) {
           symbolsList.add(symbol);
@@ -97,7 +204,7 @@ public class Scope {
     @Override
     public List<Symbol> lookup(String name) {
       List<Symbol> symbolsList = Lists.newArrayList();
-      for (Symbol site : symbols.values()) {
+      for (Symbol site : scopeSymbols()) {
         //site is a package, try to load referenced type.
         if ((site.kind & Symbol.PCK) != 0) {
           Symbol symbol = bytecodeCompleter.loadClass(bytecodeCompleter.formFullName(name, site));
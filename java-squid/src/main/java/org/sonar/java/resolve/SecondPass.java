@@ -239,9 +239,9 @@ public class SecondPass implements Symbol.Completer {
     public void visitArrayType(ArrayTypeTree tree) {
       super.visitArrayType(tree);
       if (arrayType == null) {
-        arrayType = new Type.ArrayType(site.type, symbols.arrayClass);
+        arrayType = symbols.arrayType(site.type);
       } else {
-        arrayType = new Type.ArrayType(arrayType, symbols.arrayClass);
+        arrayType = symbols.arrayType(arrayType);
       }
     }
 
@@ -24,11 +24,11 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.java.model.JavaTree;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
@@ -41,6 +41,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class SemanticModel {
 
@@ -52,21 +53,44 @@ public class SemanticModel {
   private final BiMap<Tree, Resolve.Env> envs = HashBiMap.create();
   private final Map<Tree, Tree> parentLink = Maps.newHashMap();
   private BytecodeCompleter bytecodeCompleter;
+  private Tree compilationUnit;
+  private Map<Symbol, DefUseChain> defUseChains;
 
   public static SemanticModel createFor(CompilationUnitTree tree, List<File> projectClasspath) {
-    BytecodeCompleter bytecodeCompleter = new BytecodeCompleter(projectClasspath);
+    return createFor(tree, ClasspathIndex.notIndexed(projectClasspath));
+  }
+
+  public static SemanticModel createFor(CompilationUnitTree tree, ClasspathIndex classpathIndex) {
+    return createFor(tree, classpathIndex, ResolveMetrics.disabled());
+  }
+
+  /**
+   * @param metrics receives time spent in passes and counters of completion of classes, including completions triggered later by checks
+   */
+  public static SemanticModel createFor(CompilationUnitTree tree, ClasspathIndex classpathIndex, ResolveMetrics metrics) {
+    BytecodeCompleter bytecodeCompleter = new BytecodeCompleter(classpathIndex, metrics);
     Symbols symbols = new Symbols(bytecodeCompleter);
     SemanticModel semanticModel = new SemanticModel();
     semanticModel.bytecodeCompleter = bytecodeCompleter;
+    semanticModel.compilationUnit = tree;
     semanticModel.createParentLink((JavaTree) tree);
     try {
       Resolve resolve = new Resolve(symbols, bytecodeCompleter);
       TypeAndReferenceSolver typeAndReferenceSolver = new TypeAndReferenceSolver(semanticModel, symbols, resolve);
-      new FirstPass(semanticModel, symbols, resolve, typeAndReferenceSolver).visitCompilationUnit(tree);
-      typeAndReferenceSolver.visitCompilationUnit(tree);
+      if (metrics.isEnabled()) {
+        long start = System.nanoTime();
+        new FirstPass(semanticModel, symbols, resolve, typeAndReferenceSolver).visitCompilationUnit(tree);
+        long firstPassEnd = System.nanoTime();
+        metrics.add(ResolveMetrics.Counter.FIRST_PASS_NANOS, firstPassEnd - start);
+        typeAndReferenceSolver.visitCompilationUnit(tree);
+        metrics.add(ResolveMetrics.Counter.TYPE_AND_REFERENCE_SOLVER_NANOS, System.nanoTime() - firstPassEnd);
+      } else {
+        new FirstPass(semanticModel, symbols, resolve, typeAndReferenceSolver).visitCompilationUnit(tree);
+        typeAndReferenceSolver.visitCompilationUnit(tree);
+      }
       new LabelsVisitor(semanticModel).visitCompilationUnit(tree);
     } finally {
-      handleMissingTypes(symbols, tree);
+      handleMissingTypes(symbols.unknownType, tree);
     }
     return semanticModel;
   }
@@ -77,15 +101,13 @@ public class SemanticModel {
 
 
   public static void handleMissingTypes(Tree tree) {
-    BytecodeCompleter bytecodeCompleter = new BytecodeCompleter(ImmutableList.<File>of());
-    Symbols symbols = new Symbols(bytecodeCompleter);
-    handleMissingTypes(symbols, tree);
+    handleMissingTypes(Symbols.BUILTINS.unknownType, tree);
   }
 
   /**
    * Handles missing types in Syntax Tree to prevent NPE in subsequent steps of analysis.
    */
-  private static void handleMissingTypes(final Symbols symbols, Tree tree) {
+  private static void handleMissingTypes(final Type unknownType, Tree tree) {
     // (Godin): Another and probably better (safer) way to do the same - is to assign default value during creation of nodes, so that to guarantee that this step won't be skipped.
     tree.accept(new BaseTreeVisitor() {
       @Override
@@ -93,7 +115,7 @@ public class SemanticModel {
         if (tree instanceof AbstractTypedTree) {
           AbstractTypedTree typedNode = (AbstractTypedTree) tree;
           if (typedNode.getSymbolType() == null) {
-            typedNode.setType(symbols.unknownType);
+            typedNode.setType(unknownType);
           }
         }
         super.scan(tree);
@@ -156,6 +178,13 @@ public class SemanticModel {
     return symbolsTree.inverse().get(symbol);
   }
 
+  /**
+   * @return trees to which a symbol is associated
+   */
+  public Set<Tree> getDeclarations() {
+    return Collections.unmodifiableSet(symbolsTree.keySet());
+  }
+
 
   public void associateReference(IdentifierTree tree, Symbol symbol) {
     usagesTree.put(symbol, tree);
@@ -175,6 +204,77 @@ public class SemanticModel {
     return Collections.unmodifiableCollection(usagesTree.get(symbol));
   }
 
+  /**
+   * Chains of all local variables of the file are computed at once, on first request.
+   *
+   * @return assignments and usages of given local variable or parameter, empty chain for other symbols
+   */
+  public DefUseChain getDefUseChain(Symbol symbol) {
+    if (defUseChains == null) {
+      defUseChains = computeDefUseChains();
+    }
+    DefUseChain chain = defUseChains.get(symbol);
+    return chain == null ? DefUseChain.EMPTY : chain;
+  }
+
+  private Map<Symbol, DefUseChain> computeDefUseChains() {
+    final Map<Symbol, DefUseChain> chains = Maps.newHashMap();
+    if (compilationUnit != null) {
+      compilationUnit.accept(new BaseTreeVisitor() {
+        @Override
+        public void visitAssignmentExpression(AssignmentExpressionTree tree) {
+          if (tree.variable().is(Tree.Kind.IDENTIFIER)) {
+            DefUseChain chain = chainOf(getReference((IdentifierTree) tree.variable()));
+            if (chain != null) {
+              chain.addAssignment(tree);
+            }
+          }
+          super.visitAssignmentExpression(tree);
+        }
+
+        @Override
+        public void visitIdentifier(IdentifierTree tree) {
+          DefUseChain chain = chainOf(getReference(tree));
+          if (chain != null) {
+            chain.addUsage(tree);
+          }
+        }
+
+        @Nullable
+        private DefUseChain chainOf(@Nullable Symbol symbol) {
+          if (symbol == null || !isLocalVariable(symbol)) {
+            return null;
+          }
+          DefUseChain chain = chains.get(symbol);
+          if (chain == null) {
+            chain = new DefUseChain();
+            chains.put(symbol, chain);
+          }
+          return chain;
+        }
+      });
+    }
+    for (DefUseChain chain : chains.values()) {
+      chain.sort();
+    }
+    return chains;
+  }
+
+  /**
+   * Variables of initializer blocks are owned by class, so local variables and parameters are distinguished from fields by scope of their declaration.
+   */
+  private boolean isLocalVariable(Symbol symbol) {
+    if (!symbol.isKind(Symbol.VAR)) {
+      return false;
+    }
+    Resolve.Env env = getEnv(symbol);
+    if (env == null) {
+      // not declared in this file
+      return false;
+    }
+    return !symbol.owner().isKind(Symbol.TYP) || env.scope != ((Symbol.TypeSymbol) symbol.owner()).members();
+  }
+
   @VisibleForTesting
   Collection<Symbol> getSymbolUsed() {
     return usagesTree.keySet();
@@ -20,11 +20,14 @@
 package org.sonar.java.resolve;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Sets;
 import org.apache.commons.lang.BooleanUtils;
 import org.apache.commons.lang.StringUtils;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -156,6 +159,10 @@ public class Symbol {
 
     Scope members;
 
+    private Set<Type.ClassType> superTypes;
+    private ListMultimap<String, Symbol> declaredMethods;
+    private ListMultimap<String, Symbol> inheritedMethods;
+
     public TypeSymbol(int flags, String name, Symbol owner) {
       super(TYP, flags, name, owner);
       this.type = new Type.ClassType(this);
@@ -176,6 +183,100 @@ public class Symbol {
       return members;
     }
 
+    /**
+     * Computed once, so must not be called before completion of hierarchy of this class.
+     *
+     * @return superclasses, starting from the direct one, followed by all interfaces implemented by this class or its superclasses
+     */
+    public Set<Type.ClassType> superTypes() {
+      if (superTypes == null) {
+        Set<Type.ClassType> classes = Sets.newLinkedHashSet();
+        Type superclass = getSuperclass();
+        while (superclass instanceof Type.ClassType && classes.add((Type.ClassType) superclass)) {
+          superclass = ((Type.ClassType) superclass).getSymbol().getSuperclass();
+        }
+        Set<Type.ClassType> result = Sets.newLinkedHashSet(classes);
+        addInterfaces(this, result);
+        for (Type.ClassType classType : classes) {
+          addInterfaces(classType.getSymbol(), result);
+        }
+        superTypes = Collections.unmodifiableSet(result);
+      }
+      return superTypes;
+    }
+
+    private static void addInterfaces(TypeSymbol typeSymbol, Set<Type.ClassType> result) {
+      List<Type> interfaces = typeSymbol.getInterfaces();
+      if (interfaces != null) {
+        for (Type interfaceType : interfaces) {
+          if (interfaceType instanceof Type.ClassType && result.add((Type.ClassType) interfaceType)) {
+            addInterfaces(interfaceType.symbol, result);
+          }
+        }
+      }
+    }
+
+    /**
+     * Computed together with {@link #lookupInheritedMethods(String)},
+     * so must not be called before completion of members of this class and of its supertypes.
+     *
+     * @return methods and constructors with given name, which are declared in this class
+     */
+    List<Symbol> lookupDeclaredMethods(String name) {
+      collectMethods();
+      return declaredMethods.get(name);
+    }
+
+    /**
+     * Methods inherited from {@link #superTypes()} in their order, except those which have same types of parameters as an already collected
+     * method, i.e. overridden or hidden ones. Constructors are not inherited.
+     * Computed together with {@link #lookupDeclaredMethods(String)},
+     * so must not be called before completion of members of this class and of its supertypes.
+     *
+     * @return methods with given name, which are inherited by this class
+     */
+    List<Symbol> lookupInheritedMethods(String name) {
+      collectMethods();
+      return inheritedMethods.get(name);
+    }
+
+    private void collectMethods() {
+      if (declaredMethods == null) {
+        declaredMethods = ArrayListMultimap.create();
+        inheritedMethods = ArrayListMultimap.create();
+        addMethods(this, declaredMethods);
+        for (Type.ClassType superType : superTypes()) {
+          addMethods(superType.getSymbol(), inheritedMethods);
+        }
+      }
+    }
+
+    private void addMethods(TypeSymbol typeSymbol, ListMultimap<String, Symbol> methods) {
+      Scope scope = typeSymbol.members();
+      if (scope == null) {
+        return;
+      }
+      for (Symbol symbol : scope.scopeSymbols()) {
+        if (symbol.kind == MTH && (typeSymbol == this || !"<init>".equals(symbol.name))
+          && !isOverridden(symbol, declaredMethods) && !isOverridden(symbol, inheritedMethods)) {
+          methods.put(symbol.name, symbol);
+        }
+      }
+    }
+
+    private static boolean isOverridden(Symbol method, ListMultimap<String, Symbol> methods) {
+      if (method.type == null) {
+        return false;
+      }
+      List<Type> argTypes = ((Type.MethodType) method.type).argTypes;
+      for (Symbol collected : methods.get(method.name)) {
+        if (collected.type != null && argTypes.equals(((Type.MethodType) collected.type).argTypes)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
     @Override
     public String toString() {
       return name;
@@ -249,7 +350,7 @@ public class Symbol {
         //FIXME : SONARJAVA-645 : exclude methods within anonymous classes
         return null;
       }
-      for (Type.ClassType superType : superTypes(enclosingClass)) {
+      for (Type.ClassType superType : enclosingClass.superTypes()) {
         Boolean overrideFromType = overridesFromSymbol(superType);
         if (overrideFromType == null) {
           result = null;
@@ -260,28 +361,6 @@ public class Symbol {
       return result;
     }
 
-    private Set<Type.ClassType> superTypes(Symbol.TypeSymbol enclosingClass) {
-      ImmutableSet.Builder<Type.ClassType> types = ImmutableSet.builder();
-      Type.ClassType superClassType = (Type.ClassType) enclosingClass.getSuperclass();
-      types.addAll(interfacesOfType(enclosingClass));
-      while (superClassType != null) {
-        types.add(superClassType);
-        Symbol.TypeSymbol superClassSymbol = superClassType.getSymbol();
-        types.addAll(interfacesOfType(superClassSymbol));
-        superClassType = (Type.ClassType) superClassSymbol.getSuperclass();
-      }
-      return types.build();
-    }
-
-    private Set<Type.ClassType> interfacesOfType(Symbol.TypeSymbol typeSymbol) {
-      ImmutableSet.Builder<Type.ClassType> builder = ImmutableSet.builder();
-      for (Type interfaceType : typeSymbol.getInterfaces()) {
-        Type.ClassType classType = (Type.ClassType) interfaceType;
-        builder.add(classType);
-        builder.addAll(interfacesOfType(classType.getSymbol()));
-      }
-      return builder.build();
-    }
     private Boolean overridesFromSymbol(Type.ClassType classType) {
       Boolean result = false;
       if (classType.isTagged(Type.UNKNOWN)) {
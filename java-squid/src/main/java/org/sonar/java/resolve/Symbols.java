@@ -22,6 +22,8 @@ package org.sonar.java.resolve;
 import com.google.common.collect.ImmutableList;
 
 import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * Predefined symbols.
@@ -81,42 +83,44 @@ public class Symbols {
    */
   final Type enumType;
 
+  /**
+   * Canonical array types, indexed by type of elements.
+   * Types of elements are themselves canonical, so that identity is enough to distinguish them.
+   */
+  private final Map<Type, Type.ArrayType> arrayTypes = new IdentityHashMap<Type, Type.ArrayType>();
+
+  /**
+   * Symbols, which don't depend on classpath, are shared by all instances, so must not be modified.
+   */
+  static final Builtins BUILTINS = new Builtins();
+
   public Symbols(BytecodeCompleter bytecodeCompleter) {
-    rootPackage = new Symbol.PackageSymbol("", null);
+    rootPackage = BUILTINS.rootPackage;
     defaultPackage = new Symbol.PackageSymbol("", rootPackage);
 
     predefClass = new Symbol.TypeSymbol(Flags.PUBLIC, "", rootPackage);
     predefClass.members = new Scope(predefClass);
     ((Type.ClassType) predefClass.type).interfaces = ImmutableList.of();
+    // builtin types and operators on them are shared, only operators on predefined types are created for each instance
+    for (Symbol symbol : BUILTINS.predefClass.members.scopeSymbols()) {
+      predefClass.members.enter(symbol);
+    }
 
-    unknownSymbol = new Symbol.TypeSymbol(Flags.PUBLIC, /* TODO name */"", rootPackage);
-    unknownSymbol.members = new Scope(unknownSymbol);
-    unknownType = new Type.ClassType(unknownSymbol) {
-      @Override
-      public String toString() {
-        return "!unknown!";
-      }
-    };
-    unknownType.tag = Type.UNKNOWN;
-    unknownType.interfaces = ImmutableList.of();
-    unknownSymbol.type = unknownType;
-
-    // TODO should have type "noType":
-    noSymbol = new Symbol.TypeSymbol(0, "", rootPackage);
-
-    methodClass = new Symbol.TypeSymbol(Flags.PUBLIC, "", noSymbol);
-
-    // builtin types
-    byteType = initType(Type.BYTE, "byte");
-    charType = initType(Type.CHAR, "char");
-    shortType = initType(Type.SHORT, "short");
-    intType = initType(Type.INT, "int");
-    longType = initType(Type.LONG, "long");
-    floatType = initType(Type.FLOAT, "float");
-    doubleType = initType(Type.DOUBLE, "double");
-    booleanType = initType(Type.BOOLEAN, "boolean");
-    nullType = initType(Type.BOT, "<nulltype>");
-    voidType = initType(Type.VOID, "void");
+    unknownSymbol = BUILTINS.unknownSymbol;
+    unknownType = BUILTINS.unknownType;
+    noSymbol = BUILTINS.noSymbol;
+    methodClass = BUILTINS.methodClass;
+
+    byteType = BUILTINS.byteType;
+    charType = BUILTINS.charType;
+    shortType = BUILTINS.shortType;
+    intType = BUILTINS.intType;
+    longType = BUILTINS.longType;
+    floatType = BUILTINS.floatType;
+    doubleType = BUILTINS.doubleType;
+    booleanType = BUILTINS.booleanType;
+    nullType = BUILTINS.nullType;
+    voidType = BUILTINS.voidType;
 
     bytecodeCompleter.init(this);
 
@@ -147,49 +151,24 @@ public class Symbols {
   }
 
   /**
-   * Registers builtin types as symbols, so that they can be found as an usual identifiers.
+   * @return single instance of array type for a given type of elements
    */
-  private Type initType(int tag, String name) {
-    Symbol.TypeSymbol symbol = new Symbol.TypeSymbol(Flags.PUBLIC, name, rootPackage);
-    symbol.members = new Scope(symbol);
-    predefClass.members.enter(symbol);
-    ((Type.ClassType) symbol.type).interfaces = ImmutableList.of();
-    symbol.type.tag = tag;
-    return symbol.type;
+  Type.ArrayType arrayType(Type elementType) {
+    Type.ArrayType arrayType = arrayTypes.get(elementType);
+    if (arrayType == null) {
+      arrayType = new Type.ArrayType(elementType, arrayClass);
+      arrayTypes.put(elementType, arrayType);
+    }
+    return arrayType;
   }
 
   /**
-   * Registers operators as methods, so that they can be found as an usual methods.
+   * Registers operators on predefined types as methods, so that they can be found as an usual methods.
    */
   private void enterOperators() {
-    for (String op : new String[]{"+", "-", "*", "/", "%"}) {
-      for (Type type : Arrays.asList(doubleType, floatType, longType, intType)) {
-        enterBinop(op, type, type, type);
-      }
-    }
-    for (String op : new String[]{"&", "|", "^"}) {
-      for (Type type : Arrays.asList(booleanType, longType, intType)) {
-        enterBinop(op, type, type, type);
-      }
-    }
-    for (String op : new String[]{"<<", ">>", ">>>"}) {
-      enterBinop(op, longType, longType, longType);
-      enterBinop(op, intType, longType, intType);
-      enterBinop(op, longType, intType, longType);
-      enterBinop(op, intType, intType, intType);
-    }
-    for (String op : new String[]{"<", ">", ">=", "<="}) {
-      for (Type type : Arrays.asList(doubleType, floatType, longType, intType)) {
-        enterBinop(op, type, type, booleanType);
-      }
-    }
     for (String op : new String[]{"==", "!="}) {
-      for (Type type : Arrays.asList(objectType, booleanType, doubleType, floatType, longType, intType)) {
-        enterBinop(op, type, type, booleanType);
-      }
+      enterBinop(op, objectType, objectType, booleanType);
     }
-    enterBinop("&&", booleanType, booleanType, booleanType);
-    enterBinop("||", booleanType, booleanType, booleanType);
 
     // string concatenation
     for (Type type : Arrays.asList(nullType, objectType, booleanType, doubleType, floatType, longType, intType)) {
@@ -205,4 +184,119 @@ public class Symbols {
     predefClass.members.enter(symbol);
   }
 
+  /**
+   * Builtin types, operators on them, and symbols which are not related to any type of classpath.
+   */
+  static class Builtins {
+
+    final Symbol.PackageSymbol rootPackage;
+    final Symbol.TypeSymbol predefClass;
+    final Type.ClassType unknownType;
+    final Symbol.TypeSymbol unknownSymbol;
+    final Symbol.TypeSymbol methodClass;
+    final Symbol.TypeSymbol noSymbol;
+
+    final Type byteType;
+    final Type charType;
+    final Type shortType;
+    final Type intType;
+    final Type longType;
+    final Type floatType;
+    final Type doubleType;
+    final Type booleanType;
+    final Type nullType;
+    final Type voidType;
+
+    private Builtins() {
+      rootPackage = new Symbol.PackageSymbol("", null);
+
+      predefClass = new Symbol.TypeSymbol(Flags.PUBLIC, "", rootPackage);
+      predefClass.members = new Scope(predefClass);
+      ((Type.ClassType) predefClass.type).interfaces = ImmutableList.of();
+
+      unknownSymbol = new Symbol.TypeSymbol(Flags.PUBLIC, /* TODO name */"", rootPackage);
+      unknownSymbol.members = new Scope(unknownSymbol);
+      unknownType = new Type.ClassType(unknownSymbol) {
+        @Override
+        public String toString() {
+          return "!unknown!";
+        }
+      };
+      unknownType.tag = Type.UNKNOWN;
+      unknownType.interfaces = ImmutableList.of();
+      unknownSymbol.type = unknownType;
+
+      // TODO should have type "noType":
+      noSymbol = new Symbol.TypeSymbol(0, "", rootPackage);
+
+      methodClass = new Symbol.TypeSymbol(Flags.PUBLIC, "", noSymbol);
+
+      byteType = initType(Type.BYTE, "byte");
+      charType = initType(Type.CHAR, "char");
+      shortType = initType(Type.SHORT, "short");
+      intType = initType(Type.INT, "int");
+      longType = initType(Type.LONG, "long");
+      floatType = initType(Type.FLOAT, "float");
+      doubleType = initType(Type.DOUBLE, "double");
+      booleanType = initType(Type.BOOLEAN, "boolean");
+      nullType = initType(Type.BOT, "<nulltype>");
+      voidType = initType(Type.VOID, "void");
+
+      enterOperators();
+    }
+
+    /**
+     * Registers builtin types as symbols, so that they can be found as an usual identifiers.
+     */
+    private Type initType(int tag, String name) {
+      Symbol.TypeSymbol symbol = new Symbol.TypeSymbol(Flags.PUBLIC, name, rootPackage);
+      symbol.members = new Scope(symbol);
+      predefClass.members.enter(symbol);
+      ((Type.ClassType) symbol.type).interfaces = ImmutableList.of();
+      symbol.type.tag = tag;
+      return symbol.type;
+    }
+
+    /**
+     * Registers operators on builtin types as methods, so that they can be found as an usual methods.
+     */
+    private void enterOperators() {
+      for (String op : new String[]{"+", "-", "*", "/", "%"}) {
+        for (Type type : Arrays.asList(doubleType, floatType, longType, intType)) {
+          enterBinop(op, type, type, type);
+        }
+      }
+      for (String op : new String[]{"&", "|", "^"}) {
+        for (Type type : Arrays.asList(booleanType, longType, intType)) {
+          enterBinop(op, type, type, type);
+        }
+      }
+      for (String op : new String[]{"<<", ">>", ">>>"}) {
+        enterBinop(op, longType, longType, longType);
+        enterBinop(op, intType, longType, intType);
+        enterBinop(op, longType, intType, longType);
+        enterBinop(op, intType, intType, intType);
+      }
+      for (String op : new String[]{"<", ">", ">=", "<="}) {
+        for (Type type : Arrays.asList(doubleType, floatType, longType, intType)) {
+          enterBinop(op, type, type, booleanType);
+        }
+      }
+      for (String op : new String[]{"==", "!="}) {
+        for (Type type : Arrays.asList(booleanType, doubleType, floatType, longType, intType)) {
+          enterBinop(op, type, type, booleanType);
+        }
+      }
+      enterBinop("&&", booleanType, booleanType, booleanType);
+      enterBinop("||", booleanType, booleanType, booleanType);
+    }
+
+    private void enterBinop(String name, Type left, Type right, Type result) {
+      Type type = new Type.MethodType(ImmutableList.of(left, right), result, ImmutableList.<Type>of(), methodClass);
+      Symbol symbol = new Symbol.MethodSymbol(Flags.PUBLIC | Flags.STATIC, name, type, predefClass);
+      predefClass.members.enter(symbol);
+    }
+
+  }
+
 }
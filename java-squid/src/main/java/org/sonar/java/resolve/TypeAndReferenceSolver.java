@@ -262,9 +262,9 @@ public class TypeAndReferenceSolver extends BaseTreeVisitor {
     Type type = getType(tree.type());
     int dimensions = tree.dimensions().size();
     // TODO why?
-    type = new Type.ArrayType(type, symbols.arrayClass);
+    type = symbols.arrayType(type);
     for (int i = 1; i < dimensions; i++) {
-      type = new Type.ArrayType(type, symbols.arrayClass);
+      type = symbols.arrayType(type);
     }
     registerType(tree, type);
   }
@@ -370,7 +370,7 @@ public class TypeAndReferenceSolver extends BaseTreeVisitor {
     if (getType(tree.type()) == null) {
       resolveAs(tree.type(), Symbol.TYP);
     }
-    registerType(tree, new Type.ArrayType(getType(tree.type()), symbols.arrayClass));
+    registerType(tree, symbols.arrayType(getType(tree.type())));
   }
 
   @Override
@@ -0,0 +1,15 @@
+class DefUseChain {
+  int field;
+
+  void method(int param) {
+    int local = 0;
+    local = param;
+    field = local;
+    foo(local);
+    local += 1;
+    param = 2;
+  }
+
+  void foo(int i) {
+  }
+}
@@ -1,13 +1,36 @@
 package references;
 
 @SuppressWarnings("all")
-class MethodCall {
+class MethodCall extends MethodCallParent {
 
   void target() {
   }
 
   void method() {
     target();
+    inherited(42);
+    overridden();
+    overloaded(1);
+  }
+
+  void overridden() {
+  }
+
+  private void overloaded(int i) {
+  }
+
+}
+
+@SuppressWarnings("all")
+class MethodCallParent {
+
+  void inherited(int i) {
+  }
+
+  void overridden() {
+  }
+
+  void overloaded(String s) {
   }
 
 }
@@ -55,12 +55,12 @@ public class DefaultJavaResourceLocatorTest {
 
   @Test
   public void resource_by_class() throws Exception {
-    assertThat(javaResourceLocator.resourcesByClass.keySet()).hasSize(5);
-    assertThat(javaResourceLocator.resourcesByClass.keySet()).contains("org/sonar/java/DefaultJavaResourceLocatorTest");
-    assertThat(javaResourceLocator.resourcesByClass.keySet()).contains("org/sonar/java/DefaultJavaResourceLocatorTest$A");
-    assertThat(javaResourceLocator.resourcesByClass.keySet()).contains("org/sonar/java/DefaultJavaResourceLocatorTest$A$I");
-    assertThat(javaResourceLocator.resourcesByClass.keySet()).contains("org/sonar/java/DefaultJavaResourceLocatorTest$A$1B");
-    assertThat(javaResourceLocator.resourcesByClass.keySet()).contains("org/sonar/java/DefaultJavaResourceLocatorTest$A$1B$1");
+    assertThat(javaResourceLocator.classKeys()).hasSize(5);
+    assertThat(javaResourceLocator.classKeys()).contains("org/sonar/java/DefaultJavaResourceLocatorTest");
+    assertThat(javaResourceLocator.classKeys()).contains("org/sonar/java/DefaultJavaResourceLocatorTest$A");
+    assertThat(javaResourceLocator.classKeys()).contains("org/sonar/java/DefaultJavaResourceLocatorTest$A$I");
+    assertThat(javaResourceLocator.classKeys()).contains("org/sonar/java/DefaultJavaResourceLocatorTest$A$1B");
+    assertThat(javaResourceLocator.classKeys()).contains("org/sonar/java/DefaultJavaResourceLocatorTest$A$1B$1");
   }
 
   @Test
@@ -77,6 +77,9 @@ public class DefaultJavaResourceLocatorTest {
   @Test
   public void resource_by_class_name() throws Exception {
     assertThat(javaResourceLocator.findResourceByClassName("org.sonar.java.DefaultJavaResourceLocatorTest")).isNotNull();
+    assertThat(javaResourceLocator.findResourceByClassName("org/sonar/java/DefaultJavaResourceLocatorTest")).isNotNull();
+    assertThat(javaResourceLocator.findResourceByClassName("org.sonar.java.DefaultJavaResourceLocatorTest$A$I")).isNotNull();
+    assertThat(javaResourceLocator.findResourceByClassName("org/sonar/java/DefaultJavaResourceLocatorTest$A$I")).isNotNull();
     assertThat(javaResourceLocator.findResourceByClassName("org.sonar.java.DumbClassName")).isNull();
   }
 
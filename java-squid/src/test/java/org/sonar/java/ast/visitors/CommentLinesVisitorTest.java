@@ -0,0 +1,47 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.ast.visitors;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class CommentLinesVisitorTest {
+
+  @Test
+  public void number_of_lines() {
+    assertThat(CommentLinesVisitor.numberOfLines("")).isEqualTo(1);
+    assertThat(CommentLinesVisitor.numberOfLines("// comment")).isEqualTo(1);
+    assertThat(CommentLinesVisitor.numberOfLines("/* a\n b\r\n c\r d */")).isEqualTo(4);
+    assertThat(CommentLinesVisitor.numberOfLines("/* a\n\n*/")).isEqualTo(3);
+    assertThat(CommentLinesVisitor.numberOfLines("/* a\r\n")).isEqualTo(2);
+  }
+
+  @Test
+  public void contains_no_sonar() {
+    String text = "/* a\n NOSONAR b\n c */";
+    assertThat(CommentLinesVisitor.containsNoSonar(text, 0, 4)).isFalse();
+    assertThat(CommentLinesVisitor.containsNoSonar(text, 5, 16)).isTrue();
+    assertThat(CommentLinesVisitor.containsNoSonar(text, 6, 13)).isTrue();
+    assertThat(CommentLinesVisitor.containsNoSonar(text, 6, 12)).isFalse();
+    assertThat(CommentLinesVisitor.containsNoSonar(text, 17, text.length())).isFalse();
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.ast.visitors;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.sonar.sslr.impl.Parser;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ComplexityVisitorTest {
+
+  private final Parser p = JavaParser.createParser(Charsets.UTF_8);
+
+  @Test
+  public void recorded_complexity_is_same_as_computed_one() {
+    for (File file : new File("src/test/files/metrics").listFiles()) {
+      assertRecordedComplexityIsSameAsComputed((CompilationUnitTree) p.parse(file), true);
+      assertRecordedComplexityIsSameAsComputed((CompilationUnitTree) p.parse(file), false);
+    }
+  }
+
+  @Test
+  public void accessors_in_nested_classes() {
+    CompilationUnitTree tree = (CompilationUnitTree) p.parse("class A {\n" +
+        "  private int a;\n" +
+        "  public int getA() { return a; }\n" +
+        "  void foo() {\n" +
+        "    new Object() {\n" +
+        "      public int getA() { return a; }\n" +
+        "      void bar() { new Object() { public int getA() { return a; } }; }\n" +
+        "    };\n" +
+        "    class B { private int b; public int getB() { return b; } }\n" +
+        "  }\n" +
+        "  interface I { class C { private int c; public int getC() { return c; } } }\n" +
+        "}");
+    assertRecordedComplexityIsSameAsComputed(tree, true);
+    ComplexityVisitor complexityVisitor = new ComplexityVisitor(true);
+    assertThat(complexityVisitor.scanAndRecord(tree)).isEqualTo(4);
+  }
+
+  private static void assertRecordedComplexityIsSameAsComputed(CompilationUnitTree tree, boolean analyseAccessors) {
+    ComplexityVisitor recording = new ComplexityVisitor(analyseAccessors);
+    ComplexityVisitor computing = new ComplexityVisitor(analyseAccessors);
+    assertThat(recording.scanAndRecord(tree)).isEqualTo(computing.scan(tree));
+    assertThat(recording.recordedComplexity(tree)).isEqualTo(computing.scan(tree));
+    TreesCollector collector = new TreesCollector();
+    collector.scanTree(tree);
+    for (Tree classTree : collector.classes) {
+      if (!classTree.is(Tree.Kind.INTERFACE)) {
+        assertThat(recording.recordedComplexity(classTree)).isEqualTo(computing.scan(classTree));
+      }
+    }
+    for (int i = 0; i < collector.methods.size(); i++) {
+      MethodTree methodTree = collector.methods.get(i);
+      ClassTree enclosingClass = collector.enclosingClasses.get(i);
+      assertThat(recording.recordedComplexity(methodTree)).isEqualTo(computing.scan(methodTree));
+      Integer complexity = recording.recordedMethodComplexity(enclosingClass, methodTree);
+      if (!enclosingClass.is(Tree.Kind.INTERFACE)) {
+        assertThat(complexity).isEqualTo(computing.scan(enclosingClass, methodTree));
+      }
+    }
+  }
+
+  private static class TreesCollector extends SubscriptionVisitor {
+    private final List<ClassTree> classes = new LinkedList<ClassTree>();
+    private final List<MethodTree> methods = new LinkedList<MethodTree>();
+    private final List<ClassTree> enclosingClasses = new LinkedList<ClassTree>();
+    private final Deque<ClassTree> classTrees = new LinkedList<ClassTree>();
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return ImmutableList.of(Tree.Kind.CLASS, Tree.Kind.INTERFACE, Tree.Kind.ENUM, Tree.Kind.ANNOTATION_TYPE, Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      if (tree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR)) {
+        methods.add((MethodTree) tree);
+        enclosingClasses.add(classTrees.peek());
+      } else {
+        classes.add((ClassTree) tree);
+        classTrees.push((ClassTree) tree);
+      }
+    }
+
+    @Override
+    public void leaveNode(Tree tree) {
+      if (!tree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR)) {
+        classTrees.pop();
+      }
+    }
+  }
+
+}
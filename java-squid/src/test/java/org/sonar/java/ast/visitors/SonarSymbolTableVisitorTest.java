@@ -29,6 +29,8 @@ import org.sonar.api.source.Symbolizable;
 import org.sonar.java.JavaAstScanner;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.model.VisitorsBridge;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 
 import java.io.File;
 import java.util.List;
@@ -59,7 +61,8 @@ public class SonarSymbolTableVisitorTest {
   public void sonar_symbol_table() throws Exception {
     File file = new File("src/test/files/highlighter/SonarSymTable.java");
     lines = Files.readLines(file, Charsets.UTF_8);
-    JavaAstScanner.scanSingleFile(file, new VisitorsBridge(ImmutableList.of(), sonarComponents));
+    // symbol table is created only for files, for which semantic model was built
+    JavaAstScanner.scanSingleFile(file, new VisitorsBridge(ImmutableList.of(new SemanticModelRequester()), sonarComponents));
 
     // import List
     verify(symboltableBuilder).newSymbol(offset(1, 18), offset(1, 22));
@@ -81,6 +84,13 @@ public class SonarSymbolTableVisitorTest {
     verifyNoMoreInteractions(symboltableBuilder);
   }
 
+  private static class SemanticModelRequester implements JavaFileScanner {
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      context.getSemanticModel();
+    }
+  }
+
   private int offset(int line, int column) {
     int result = 0;
     for (int i = 0; i < line - 1; i++) {
@@ -20,10 +20,16 @@
 package org.sonar.java.bytecode.visitor;
 
 import org.junit.Test;
+import org.sonar.api.design.Dependency;
+import org.sonar.api.resources.Resource;
 import org.sonar.graph.DirectedGraph;
+import org.sonar.java.bytecode.asm.AsmClass;
+import org.sonar.java.bytecode.asm.AsmEdge;
+import org.sonar.plugins.java.api.JavaResourceLocator;
 
 import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class DependenciesVisitorTest {
 
@@ -31,6 +37,62 @@ public class DependenciesVisitorTest {
   public void testName() throws Exception {
   }
 
+  @Test
+  public void dependency_between_packages_counts_each_dependency_between_files_once() {
+    Resource package1 = mock(Resource.class);
+    Resource package2 = mock(Resource.class);
+    Resource fileA = file(package1);
+    Resource fileB = file(package2);
+    Resource fileC = file(package2);
+    JavaResourceLocator javaResourceLocator = mock(JavaResourceLocator.class);
+    ResourceMapping resourceMapping = new ResourceMapping();
+    when(javaResourceLocator.getResourceMapping()).thenReturn(resourceMapping);
+    AsmClass classA = asmClass(javaResourceLocator, "p1/A", fileA);
+    AsmClass innerClassA = asmClass(javaResourceLocator, "p1/A$1", fileA);
+    AsmClass classB = asmClass(javaResourceLocator, "p2/B", fileB);
+    AsmClass classC = asmClass(javaResourceLocator, "p2/C", fileC);
+
+    DirectedGraph<Resource, Dependency> graph = new DirectedGraph<Resource, Dependency>();
+    DependenciesVisitor visitor = new DependenciesVisitor(graph);
+    visitor.setJavaResourceLocator(javaResourceLocator);
+    visitor.visitClass(classA);
+    visitor.visitEdge(edgeTo(classB));
+    visitor.visitEdge(edgeTo(classB));
+    visitor.visitEdge(edgeTo(classC));
+    visitor.visitEdge(edgeTo(innerClassA));
+    visitor.visitClass(innerClassA);
+    visitor.visitEdge(edgeTo(classB));
+    visitor.visitClass(classB);
+    visitor.visitEdge(edgeTo(classC));
+
+    Dependency packageDependency = graph.getEdge(package1, package2);
+    assertThat(packageDependency.getWeight()).isEqualTo(2);
+    assertThat(resourceMapping.getSubDependencies(packageDependency)).containsOnly(graph.getEdge(fileA, fileB), graph.getEdge(fileA, fileC));
+    assertThat(graph.getEdge(fileA, fileB).getParent()).isSameAs(packageDependency);
+    assertThat(graph.getEdge(fileB, fileC)).isNotNull();
+    assertThat(graph.getEdge(package2, package2)).isNull();
+    assertThat(graph.getEdges(graph.getVertices())).hasSize(4);
+  }
+
+  private static Resource file(Resource parent) {
+    Resource file = mock(Resource.class);
+    when(file.getParent()).thenReturn(parent);
+    return file;
+  }
+
+  private static AsmClass asmClass(JavaResourceLocator javaResourceLocator, String internalName, Resource resource) {
+    AsmClass asmClass = mock(AsmClass.class);
+    when(asmClass.getInternalName()).thenReturn(internalName);
+    when(javaResourceLocator.findResourceByClassName(internalName)).thenReturn(resource);
+    return asmClass;
+  }
+
+  private static AsmEdge edgeTo(AsmClass target) {
+    AsmEdge edge = mock(AsmEdge.class);
+    when(edge.getTargetAsmClass()).thenReturn(target);
+    return edge;
+  }
+
   @Test
   public void test_toString() {
     assertThat(new DependenciesVisitor(mock(DirectedGraph.class)).toString()).isEqualTo("deperecated dependencies metrics");
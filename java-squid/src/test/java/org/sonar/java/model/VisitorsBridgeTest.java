@@ -0,0 +1,139 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.model;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.sonar.api.source.Symbolizable;
+import org.sonar.java.JavaAstScanner;
+import org.sonar.java.SemanticAwareVisitor;
+import org.sonar.java.SonarComponents;
+import org.sonar.java.model.declaration.ClassTreeImpl;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+
+import java.io.File;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class VisitorsBridgeTest {
+
+  private static final File FILE = new File("src/test/java/org/sonar/java/model/VisitorsBridgeTest.java");
+
+  @Test
+  public void semantic_model_built_on_demand() {
+    SyntacticScanner scanner = new SyntacticScanner();
+    JavaAstScanner.scanSingleFile(FILE, new VisitorsBridge(scanner));
+
+    assertThat(scanner.symbolBeforeRequest).isFalse();
+    assertThat(scanner.semanticModel).isNotNull();
+    assertThat(scanner.symbolAfterRequest).isTrue();
+  }
+
+  @Test
+  public void semantic_model_built_before_semantic_aware_scanner() {
+    SemanticScanner scanner = new SemanticScanner();
+    JavaAstScanner.scanSingleFile(FILE, new VisitorsBridge(scanner));
+
+    assertThat(scanner.symbolBeforeRequest).isTrue();
+  }
+
+  @Test
+  public void sonar_symbol_table_created_only_for_files_with_semantic_model() {
+    SonarComponents sonarComponents = sonarComponents(Lists.<File>newArrayList());
+    JavaAstScanner.scanSingleFile(FILE, new VisitorsBridge(ImmutableList.of(new NoSemanticModelScanner()), sonarComponents));
+    verify(sonarComponents, never()).symbolizableFor(any(File.class));
+
+    sonarComponents = sonarComponents(Lists.<File>newArrayList());
+    JavaAstScanner.scanSingleFile(FILE, new VisitorsBridge(ImmutableList.of(new SemanticScanner()), sonarComponents));
+    verify(sonarComponents).symbolizableFor(any(File.class));
+  }
+
+  @Test
+  public void scanners_not_executed_after_failure_of_semantic_model_built_on_demand() {
+    SyntacticScanner first = new SyntacticScanner();
+    NoSemanticModelScanner second = new NoSemanticModelScanner();
+    SonarComponents sonarComponents = sonarComponents(Lists.newArrayList((File) null));
+    JavaAstScanner.scanSingleFile(FILE, new VisitorsBridge(ImmutableList.of(first, second), sonarComponents));
+
+    assertThat(first.semanticModel).isNull();
+    assertThat(second.scanned).isFalse();
+    verify(sonarComponents, never()).symbolizableFor(any(File.class));
+  }
+
+  @Test
+  public void scanners_not_executed_after_failure_of_semantic_model_built_before_them() {
+    SemanticScanner first = new SemanticScanner();
+    NoSemanticModelScanner second = new NoSemanticModelScanner();
+    JavaAstScanner.scanSingleFile(FILE, new VisitorsBridge(ImmutableList.of(first, second), sonarComponents(Lists.newArrayList((File) null))));
+
+    assertThat(first.scanned).isFalse();
+    assertThat(second.scanned).isFalse();
+  }
+
+  /**
+   * Semantic model can't be created, when classpath contains null.
+   */
+  private static SonarComponents sonarComponents(List<File> classpath) {
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    when(sonarComponents.getJavaClasspath()).thenReturn(classpath);
+    when(sonarComponents.symbolizableFor(any(File.class))).thenReturn(mock(Symbolizable.class, RETURNS_DEEP_STUBS));
+    return sonarComponents;
+  }
+
+  private static boolean hasSymbol(JavaFileScannerContext context) {
+    return ((ClassTreeImpl) context.getTree().types().get(0)).getSymbol() != null;
+  }
+
+  private static class NoSemanticModelScanner implements JavaFileScanner {
+    boolean scanned;
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      scanned = true;
+    }
+  }
+
+  private static class SyntacticScanner extends NoSemanticModelScanner {
+    boolean symbolBeforeRequest;
+    boolean symbolAfterRequest;
+    Object semanticModel;
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      super.scanFile(context);
+      symbolBeforeRequest = hasSymbol(context);
+      semanticModel = context.getSemanticModel();
+      symbolAfterRequest = hasSymbol(context);
+    }
+  }
+
+  private static class SemanticScanner extends SyntacticScanner implements SemanticAwareVisitor {
+  }
+
+}
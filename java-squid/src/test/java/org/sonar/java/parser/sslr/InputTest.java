@@ -89,6 +89,13 @@ public class InputTest {
       2, 1);
   }
 
+  @Test
+  public void lineStartIndexes() {
+    assertThat(new Input("".toCharArray()).lineStartIndexes()).isEqualTo(new int[] {0});
+    assertThat(new Input("a\nb\r\nc\rd".toCharArray()).lineStartIndexes()).isEqualTo(new int[] {0, 2, 5, 7});
+    assertThat(new Input("a\n".toCharArray()).lineStartIndexes()).isEqualTo(new int[] {0, 2});
+  }
+
   private static void assertLineAndColumn(String string, int index, int expectedLine, int expectedColumn) {
     int[] location = new Input(string.toCharArray()).lineAndColumnAt(index);
     assertThat(location[0]).isEqualTo(expectedLine);
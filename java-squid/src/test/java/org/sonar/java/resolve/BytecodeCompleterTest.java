@@ -50,6 +50,17 @@ public class BytecodeCompleterTest {
 
   }
 
+  @Test
+  public void load_class_with_classpath_index() {
+    BytecodeCompleter indexedCompleter = new BytecodeCompleter(
+      ClasspathIndex.create(Lists.newArrayList(new File("target/test-classes"), new File("target/classes"))));
+    new Symbols(indexedCompleter);
+    assertThat(indexedCompleter.loadClass(HasInnerClass.class.getName()).kind).isEqualTo(Symbol.TYP);
+    assertThat(indexedCompleter.loadClass("org.sonar.java.resolve.targets.hasinnerclass").kind).isEqualTo(Symbol.ABSENT);
+    assertThat(indexedCompleter.loadClass("java.lang.String").kind).isEqualTo(Symbol.TYP);
+    assertThat(indexedCompleter.loadClass("java.lang.Unknown").kind).isEqualTo(Symbol.ABSENT);
+  }
+
   @Test
   public void annotations() throws Exception {
     bytecodeCompleter.getClassSymbol(Annotations.class.getName().replace('.', '/')).complete();
@@ -0,0 +1,75 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ClasspathIndexTest {
+
+  private static final List<File> CLASSPATH = ImmutableList.of(new File("target/test-classes"), new File("src/test/files/classpath/lib/hello.jar"));
+
+  @Test
+  public void classes_of_directories_and_jars() {
+    ClasspathIndex index = ClasspathIndex.create(CLASSPATH);
+    assertThat(index.classpath()).isEqualTo(CLASSPATH);
+    assertThat(index.contains("org/sonar/java/resolve/ClasspathIndexTest")).isTrue();
+    assertThat(index.contains("org/sonar/java/resolve/targets/HasInnerClass$InnerClass")).isTrue();
+    assertThat(index.contains("org/sonar/java/resolve/classpathindextest")).isFalse();
+    assertThat(index.contains("org/sonar/java/resolve/Unknown")).isFalse();
+    assertThat(index.contains("org/sonar/tests/Hello")).isTrue();
+  }
+
+  @Test
+  public void classes_of_boot_classpath() {
+    ClasspathIndex index = ClasspathIndex.create(CLASSPATH);
+    if (System.getProperty("sun.boot.class.path") != null) {
+      assertThat(index.isComplete()).isTrue();
+      assertThat(index.contains("java/lang/Object")).isTrue();
+      assertThat(index.contains("java/lang/Map$Entry")).isFalse();
+      assertThat(index.contains("java/util/Map$Entry")).isTrue();
+    }
+  }
+
+  @Test
+  public void unknown_boot_classpath() {
+    assertThat(ClasspathIndex.indexBootClasspath(null)).isNull();
+    assertThat(ClasspathIndex.indexBootClasspath("target/unknown")).isNull();
+    assertThat(ClasspathIndex.indexBootClasspath("src/test/files/classpath/lib/hello.jar")).isNotEmpty();
+
+    ClasspathIndex index = ClasspathIndex.create(CLASSPATH, null);
+    assertThat(index.isComplete()).isFalse();
+    assertThat(index.contains("org/sonar/java/resolve/ClasspathIndexTest")).isTrue();
+    assertThat(index.contains("java/lang/Object")).isFalse();
+  }
+
+  @Test
+  public void not_indexed() {
+    ClasspathIndex index = ClasspathIndex.notIndexed(CLASSPATH);
+    assertThat(index.isComplete()).isFalse();
+    assertThat(index.contains("java/lang/Object")).isFalse();
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.model.JavaTree;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class DefUseChainTest {
+
+  private SemanticModel semanticModel;
+  private MethodInvocationTree fooInvocation;
+
+  @Before
+  public void setUp() {
+    CompilationUnitTree tree = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse(new File("src/test/files/sym/DefUseChain.java"));
+    semanticModel = SemanticModel.createFor(tree, ImmutableList.<File>of());
+    tree.accept(new BaseTreeVisitor() {
+      @Override
+      public void visitMethodInvocation(MethodInvocationTree tree) {
+        fooInvocation = tree;
+      }
+    });
+  }
+
+  @Test
+  public void local_variable() {
+    DefUseChain chain = semanticModel.getDefUseChain(symbol("local"));
+    assertThat(lines(chain.assignments())).containsExactly(6, 9);
+    assertThat(lines(chain.usages())).containsExactly(6, 7, 8, 9);
+    assertThat(lines(chain.assignmentsBefore(fooInvocation))).containsExactly(6);
+  }
+
+  @Test
+  public void parameter() {
+    DefUseChain chain = semanticModel.getDefUseChain(symbol("param"));
+    assertThat(lines(chain.assignments())).containsExactly(10);
+    assertThat(lines(chain.usages())).containsExactly(6, 10);
+    assertThat(chain.assignmentsBefore(fooInvocation)).isEmpty();
+  }
+
+  @Test
+  public void no_chain_for_field() {
+    DefUseChain chain = semanticModel.getDefUseChain(symbol("field"));
+    assertThat(chain.assignments()).isEmpty();
+    assertThat(chain.usages()).isEmpty();
+  }
+
+  private Symbol symbol(String name) {
+    for (Tree tree : semanticModel.getDeclarations()) {
+      Symbol symbol = semanticModel.getSymbol(tree);
+      if (name.equals(symbol.getName())) {
+        return symbol;
+      }
+    }
+    throw new IllegalArgumentException(name);
+  }
+
+  private static List<Integer> lines(List<? extends Tree> trees) {
+    List<Integer> lines = Lists.newArrayList();
+    for (Tree tree : trees) {
+      lines.add(((JavaTree) tree).getLine());
+    }
+    return lines;
+  }
+
+}
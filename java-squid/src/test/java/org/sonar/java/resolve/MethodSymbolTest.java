@@ -25,6 +25,7 @@ import com.google.common.collect.Sets;
 import org.fest.assertions.BooleanAssert;
 import org.junit.Test;
 import org.sonar.java.JavaAstScanner;
+import org.sonar.java.SemanticAwareVisitor;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.VisitorsBridge;
@@ -47,7 +48,7 @@ public class MethodSymbolTest {
 
   }
 
-  private static class MethodVisitor extends SubscriptionVisitor {
+  private static class MethodVisitor extends SubscriptionVisitor implements SemanticAwareVisitor {
 
     private static final Set<Integer> overriden = Sets.newHashSet(28, 37, 41, 53);
     private static final Set<Integer> undecidable = Sets.newHashSet(43);
@@ -0,0 +1,133 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.sonar.sslr.impl.Parser;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ResolveMetricsTest {
+
+  private static final File FILE = new File("src/test/java/org/sonar/java/resolve/targets/AnonymousClass.java");
+
+  private final Parser parser = JavaParser.createParser(Charsets.UTF_8);
+  private final List<File> classpath = ImmutableList.of(new File("target/test-classes"));
+
+  @Test
+  public void counters_of_semantic_model() {
+    ResolveMetrics metrics = new ResolveMetrics();
+    metrics.startFile(FILE.getPath());
+    SemanticModel semanticModel = SemanticModel.createFor((CompilationUnitTree) parser.parse(FILE), ClasspathIndex.notIndexed(classpath), metrics);
+    semanticModel.done();
+    metrics.endFile();
+
+    assertThat(metrics.getFiles()).hasSize(1);
+    ResolveMetrics.FileMetrics file = metrics.getFiles().get(0);
+    assertThat(file.getFile()).isEqualTo(FILE.getPath());
+    assertThat(file.get(ResolveMetrics.Counter.COMPLETED_CLASSES)).isGreaterThan(0);
+    assertThat(file.get(ResolveMetrics.Counter.CLASS_TABLE_MISSES)).isGreaterThan(0);
+    assertThat(file.get(ResolveMetrics.Counter.CLASS_TABLE_HITS)).isGreaterThan(0);
+    assertThat(file.get(ResolveMetrics.Counter.CLASSPATH_PROBES)).isGreaterThan(0);
+    assertThat(file.get(ResolveMetrics.Counter.MISSING_CLASSES)).isEqualTo(0);
+    assertThat(metrics.getTotal(ResolveMetrics.Counter.COMPLETED_CLASSES)).isEqualTo(file.get(ResolveMetrics.Counter.COMPLETED_CLASSES));
+
+    List<Map.Entry<String, Long>> classes = metrics.getMostExpensiveClasses(Integer.MAX_VALUE);
+    assertThat(classes).hasSize((int) file.get(ResolveMetrics.Counter.COMPLETED_CLASSES));
+    assertThat(metrics.getMostExpensiveClasses(1)).hasSize(1);
+  }
+
+  @Test
+  public void index_avoids_classpath_probes() {
+    ResolveMetrics metrics = new ResolveMetrics();
+    metrics.startFile(FILE.getPath());
+    SemanticModel.createFor((CompilationUnitTree) parser.parse(FILE), ClasspathIndex.create(classpath), metrics).done();
+    metrics.endFile();
+
+    assertThat(metrics.getTotal(ResolveMetrics.Counter.COMPLETED_CLASSES)).isGreaterThan(0);
+    assertThat(metrics.getTotal(ResolveMetrics.Counter.CLASSPATH_PROBES)).isEqualTo(0);
+  }
+
+  @Test
+  public void file_not_ended_is_discarded() {
+    ResolveMetrics metrics = new ResolveMetrics();
+    metrics.startFile("A.java");
+    metrics.increment(ResolveMetrics.Counter.COMPLETED_CLASSES);
+    metrics.startFile("B.java");
+    metrics.endFile();
+    metrics.endFile();
+
+    assertThat(metrics.getFiles()).hasSize(1);
+    assertThat(metrics.getFiles().get(0).getFile()).isEqualTo("B.java");
+    assertThat(metrics.getTotal(ResolveMetrics.Counter.COMPLETED_CLASSES)).isEqualTo(0);
+  }
+
+  @Test
+  public void disabled() {
+    ResolveMetrics metrics = ResolveMetrics.disabled();
+    assertThat(metrics.isEnabled()).isFalse();
+    assertThat(new ResolveMetrics().isEnabled()).isTrue();
+    metrics.startFile("A.java");
+    metrics.classCompleted("java.lang.Object", 10);
+    metrics.endFile();
+
+    assertThat(metrics.getFiles()).isEmpty();
+    assertThat(metrics.getMostExpensiveClasses(10)).isEmpty();
+  }
+
+  @Test
+  public void report() {
+    ResolveMetrics metrics = new ResolveMetrics();
+    metrics.startFile("A.java");
+    metrics.add(ResolveMetrics.Counter.FIRST_PASS_NANOS, 1000000);
+    metrics.classCompleted("java.lang.Object", 3000000);
+    metrics.classCompleted("java.lang.String", 1000000);
+    metrics.endFile();
+    metrics.startFile("B.java");
+    metrics.add(ResolveMetrics.Counter.TYPE_AND_REFERENCE_SOLVER_NANOS, 5000000);
+    metrics.classCompleted("java.lang.String", 4000000);
+    metrics.increment(ResolveMetrics.Counter.MISSING_CLASSES);
+    metrics.endFile();
+
+    assertThat(metrics.getSlowestFiles(1)).hasSize(1);
+    assertThat(metrics.getSlowestFiles(1).get(0).getFile()).isEqualTo("B.java");
+    List<Map.Entry<String, Long>> classes = metrics.getMostExpensiveClasses(10);
+    assertThat(classes).hasSize(2);
+    assertThat(classes.get(0).getKey()).isEqualTo("java.lang.String");
+    assertThat(classes.get(0).getValue()).isEqualTo(5000000L);
+    assertThat(metrics.getTotal(ResolveMetrics.Counter.COMPLETED_CLASSES)).isEqualTo(3);
+
+    String report = metrics.report(10);
+    assertThat(report).contains("2 files");
+    assertThat(report).contains("3 classes completed in 8 ms");
+    assertThat(report).contains("1 missing classes");
+    assertThat(report).contains("B.java: 5 ms");
+    assertThat(report).contains("java.lang.String: 5 ms");
+  }
+
+}
@@ -19,8 +19,12 @@
  */
 package org.sonar.java.resolve;
 
+import com.google.common.collect.Lists;
 import org.junit.Test;
 
+import java.util.Collection;
+import java.util.List;
+
 import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
@@ -60,4 +64,33 @@ public class ScopeTest {
     assertThat(scope.lookup("nonexistent")).isEmpty();
   }
 
+  @Test
+  public void big_scope() {
+    Scope scope = new Scope(owner);
+    List<Symbol> entered = Lists.newArrayList();
+    for (int i = 0; i < 100; i++) {
+      Symbol symbol = new Symbol(0, 0, "name" + (i % 30), null);
+      scope.enter(symbol);
+      entered.add(symbol);
+    }
+
+    assertThat(scope.scopeSymbols()).isEqualTo(entered);
+    assertThat(scope.lookup("name3")).containsExactly(entered.get(3), entered.get(33), entered.get(63), entered.get(93));
+    assertThat(scope.lookup("name29")).containsExactly(entered.get(29), entered.get(59), entered.get(89));
+    assertThat(scope.lookup("nonexistent")).isEmpty();
+  }
+
+  @Test
+  public void scope_symbols_not_affected_by_later_entries() {
+    Scope scope = new Scope(owner);
+    Symbol first = new Symbol(0, 0, "first", null);
+    scope.enter(first);
+    Collection<Symbol> scopeSymbols = scope.scopeSymbols();
+
+    scope.enter(new Symbol(0, 0, "second", null));
+
+    assertThat(scopeSymbols).containsOnly(first);
+    assertThat(scope.scopeSymbols()).hasSize(2);
+  }
+
 }
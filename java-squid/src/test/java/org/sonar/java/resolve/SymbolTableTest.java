@@ -360,6 +360,9 @@ public class SymbolTableTest {
   public void MethodCall() {
     Result result = Result.createFor("references/MethodCall");
     assertThat(result.reference(10, 5)).isSameAs(result.symbol("target"));
+    assertThat(result.reference(11, 5)).isSameAs(result.symbol("inherited"));
+    assertThat(result.reference(12, 5)).isSameAs(result.symbol("overridden", 16));
+    assertThat(result.reference(13, 5)).isSameAs(result.symbol("overloaded", 19));
   }
 
   @Test
@@ -19,8 +19,11 @@
  */
 package org.sonar.java.resolve;
 
+import com.google.common.collect.ImmutableList;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -96,6 +99,40 @@ public class SymbolTest {
     verify(typeSymbol).complete();
   }
 
+  @Test
+  public void declared_and_inherited_methods() {
+    Symbol.PackageSymbol packageSymbol = new Symbol.PackageSymbol("p", null);
+    Symbol.TypeSymbol parent = typeSymbol("Parent", packageSymbol, null);
+    Symbol.TypeSymbol child = typeSymbol("Child", packageSymbol, parent);
+    Type.ClassType intType = new Type.ClassType(typeSymbol("I", packageSymbol, null));
+    Symbol overridden = method("m", parent, ImmutableList.<Type>of());
+    Symbol inherited = method("m", parent, ImmutableList.<Type>of(intType));
+    method("<init>", parent, ImmutableList.<Type>of());
+    Symbol declared = method("m", child, ImmutableList.<Type>of());
+    Symbol constructor = method("<init>", child, ImmutableList.<Type>of(intType));
+
+    assertThat(child.lookupDeclaredMethods("m")).containsOnly(declared);
+    assertThat(child.lookupInheritedMethods("m")).containsOnly(inherited);
+    assertThat(child.lookupInheritedMethods("m")).excludes(overridden);
+    assertThat(child.lookupDeclaredMethods("<init>")).containsOnly(constructor);
+    assertThat(child.lookupInheritedMethods("<init>")).isEmpty();
+  }
+
+  private static Symbol.TypeSymbol typeSymbol(String name, Symbol owner, Symbol.TypeSymbol superclass) {
+    Symbol.TypeSymbol typeSymbol = new Symbol.TypeSymbol(0, name, owner);
+    typeSymbol.members = new Scope(typeSymbol);
+    ((Type.ClassType) typeSymbol.type).supertype = superclass == null ? null : superclass.type;
+    ((Type.ClassType) typeSymbol.type).interfaces = ImmutableList.of();
+    return typeSymbol;
+  }
+
+  private static Symbol method(String name, Symbol.TypeSymbol owner, List<Type> argTypes) {
+    Symbol method = new Symbol(Symbol.MTH, 0, name, owner);
+    method.type = new Type.MethodType(argTypes, null, ImmutableList.<Type>of(), owner);
+    owner.members.enter(method);
+    return method;
+  }
+
   @Test
   public void test_MethodSymbol() {
     Symbol.PackageSymbol packageSymbol = new Symbol.PackageSymbol("p", null);
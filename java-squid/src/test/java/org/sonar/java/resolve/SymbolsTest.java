@@ -102,4 +102,18 @@ public class SymbolsTest {
     assertThat(arrayClassType.interfaces).containsOnly(symbols.cloneableType, symbols.serializableType);
   }
 
+  @Test
+  public void builtins_shared_between_instances() {
+    Symbols other = new Symbols(new BytecodeCompleter(Lists.<File>newArrayList()));
+    assertThat(other.rootPackage).isSameAs(symbols.rootPackage);
+    assertThat(other.intType).isSameAs(symbols.intType);
+    assertThat(other.unknownType).isSameAs(symbols.unknownType);
+    assertThat(other.predefClass.members().lookup("int")).containsOnly(symbols.intType.symbol);
+    assertThat(other.predefClass.members().lookup("&&")).isEqualTo(symbols.predefClass.members().lookup("&&"));
+
+    assertThat(other.defaultPackage).isNotSameAs(symbols.defaultPackage);
+    assertThat(other.objectType).isNotSameAs(symbols.objectType);
+    assertThat(other.arrayClass).isNotSameAs(symbols.arrayClass);
+  }
+
 }
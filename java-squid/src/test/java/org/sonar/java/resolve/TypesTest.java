@@ -82,6 +82,16 @@ public class TypesTest {
 
   }
 
+  @Test
+  public void array_types_are_canonical() {
+    Type.ArrayType arrayInt = symbols.arrayType(symbols.intType);
+    assertThat(symbols.arrayType(symbols.intType)).isSameAs(arrayInt);
+    assertThat(symbols.arrayType(arrayInt)).isSameAs(symbols.arrayType(symbols.arrayType(symbols.intType)));
+    assertThat(symbols.arrayType(symbols.booleanType)).isNotSameAs(arrayInt);
+    assertThat(arrayInt.symbol).isSameAs(symbols.arrayClass);
+    assertThat(types.isSubtype(arrayInt, symbols.arrayType(symbols.intType))).isTrue();
+  }
+
   private void shouldNotBeSubtype(Type t, List<Type> s) {
     for (Type type : s) {
       assertThat(types.isSubtype(t, type)).as(t + " is subtype of " + type).isFalse();
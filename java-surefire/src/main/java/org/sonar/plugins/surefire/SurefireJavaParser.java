@@ -37,11 +37,14 @@ import org.sonar.plugins.java.api.JavaResourceLocator;
 import org.sonar.plugins.surefire.data.SurefireStaxHandler;
 import org.sonar.plugins.surefire.data.UnitTestClassReport;
 import org.sonar.plugins.surefire.data.UnitTestIndex;
+import org.sonar.plugins.surefire.data.UnitTestReportCache;
 import org.sonar.plugins.surefire.data.UnitTestResult;
 
+import javax.annotation.Nullable;
 import javax.xml.stream.XMLStreamException;
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -60,9 +63,17 @@ public class SurefireJavaParser implements BatchExtension {
 
 
   public void collect(SensorContext context, File reportsDir) {
+    collect(context, reportsDir, null);
+  }
+
+  /**
+   * @param cacheFile file in which parsed reports are kept between analyses, so that unchanged reports are not parsed again,
+   * or null to parse all reports
+   */
+  public void collect(SensorContext context, File reportsDir, @Nullable File cacheFile) {
     File[] xmlFiles = getReports(reportsDir);
     if (xmlFiles.length > 0) {
-      parseFiles(context, xmlFiles);
+      parseFiles(context, xmlFiles, cacheFile);
     }
   }
 
@@ -90,23 +101,47 @@ public class SurefireJavaParser implements BatchExtension {
     });
   }
 
-  private void parseFiles(SensorContext context, File[] reports) {
+  private void parseFiles(SensorContext context, File[] reports, @Nullable File cacheFile) {
+    UnitTestReportCache cache = cacheFile == null ? UnitTestReportCache.empty() : UnitTestReportCache.load(cacheFile);
     UnitTestIndex index = new UnitTestIndex();
-    parseFiles(reports, index);
+    parseFiles(reports, index, cache);
+    if (cacheFile != null) {
+      cache.save(cacheFile);
+    }
     sanitize(index);
     save(index, context);
   }
 
-  private void parseFiles(File[] reports, UnitTestIndex index) {
-    SurefireStaxHandler staxParser = new SurefireStaxHandler(index);
-    StaxParser parser = new StaxParser(staxParser, false);
+  private void parseFiles(File[] reports, UnitTestIndex index, UnitTestReportCache cache) {
+    int cachedReports = 0;
     for (File report : reports) {
       try {
-        parser.parse(report);
-      } catch (XMLStreamException e) {
-        throw new SonarException("Fail to parse the Surefire report: " + report, e);
+        UnitTestIndex reportIndex = cache.get(report);
+        if (reportIndex == null) {
+          reportIndex = parseFile(report);
+          cache.put(report, reportIndex);
+        } else {
+          cachedReports++;
+        }
+        for (Map.Entry<String, UnitTestClassReport> entry : reportIndex.getIndexByClassname().entrySet()) {
+          index.index(entry.getKey()).add(entry.getValue());
+        }
+      } catch (IOException e) {
+        throw new SonarException("Fail to read the Surefire report: " + report, e);
       }
     }
+    LOGGER.debug("{} Surefire report(s) loaded from cache", cachedReports);
+  }
+
+  private static UnitTestIndex parseFile(File report) {
+    UnitTestIndex reportIndex = new UnitTestIndex();
+    StaxParser parser = new StaxParser(new SurefireStaxHandler(reportIndex), false);
+    try {
+      parser.parse(report);
+    } catch (XMLStreamException e) {
+      throw new SonarException("Fail to parse the Surefire report: " + report, e);
+    }
+    return reportIndex;
   }
 
   private void sanitize(UnitTestIndex index) {
@@ -38,6 +38,8 @@ public class SurefireSensor implements Sensor {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SurefireSensor.class);
 
+  private static final String CACHE_FILENAME = "surefire-reports.cache";
+
   private final SurefireJavaParser surefireJavaParser;
   private final Settings settings;
   private final FileSystem fs;
@@ -66,7 +68,8 @@ public class SurefireSensor implements Sensor {
 
   protected void collect(SensorContext context, File reportsDir) {
     LOGGER.info("parsing {}", reportsDir);
-    surefireJavaParser.collect(context, reportsDir);
+    File workDir = fs.workDir();
+    surefireJavaParser.collect(context, reportsDir, workDir == null ? null : new File(workDir, CACHE_FILENAME));
   }
 
   @Override
@@ -0,0 +1,224 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.plugins.surefire.data;
+
+import com.google.common.collect.Maps;
+import com.google.common.io.Closeables;
+import com.google.common.io.Files;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Results of parsing of Surefire reports, persisted between analyses.
+ * Entry is reused only if size, last modification date and checksum of report didn't change.
+ * Only entries which were requested or added since loading are saved, so entries of deleted reports are dropped.
+ */
+public class UnitTestReportCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UnitTestReportCache.class);
+
+  private static final int VERSION = 1;
+
+  private final Map<String, Entry> previous;
+  private final Map<String, Entry> current = Maps.newHashMap();
+
+  private UnitTestReportCache(Map<String, Entry> previous) {
+    this.previous = previous;
+  }
+
+  public static UnitTestReportCache empty() {
+    return new UnitTestReportCache(Maps.<String, Entry>newHashMap());
+  }
+
+  /**
+   * Returns empty cache if file doesn't exist or can't be read.
+   */
+  public static UnitTestReportCache load(File file) {
+    if (!file.isFile()) {
+      return empty();
+    }
+    DataInputStream in = null;
+    try {
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      return new UnitTestReportCache(read(in));
+    } catch (IOException e) {
+      LOGGER.warn("Unable to read Surefire reports cache " + file + ", all reports will be parsed", e);
+      return empty();
+    } finally {
+      Closeables.closeQuietly(in);
+    }
+  }
+
+  /**
+   * @return parsed report or null if report is not in cache or has changed
+   */
+  public UnitTestIndex get(File report) throws IOException {
+    String key = report.getAbsolutePath();
+    Entry entry = previous.get(key);
+    if (entry == null || entry.size != report.length() || entry.lastModified != report.lastModified() || entry.checksum != checksum(report)) {
+      return null;
+    }
+    current.put(key, entry);
+    return entry.index;
+  }
+
+  public void put(File report, UnitTestIndex index) throws IOException {
+    current.put(report.getAbsolutePath(), new Entry(report.length(), report.lastModified(), checksum(report), index));
+  }
+
+  /**
+   * Failure to save cache is not fatal for analysis.
+   */
+  public void save(File file) {
+    DataOutputStream out = null;
+    try {
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+      write(out);
+    } catch (IOException e) {
+      LOGGER.warn("Unable to write Surefire reports cache " + file, e);
+    } finally {
+      Closeables.closeQuietly(out);
+    }
+  }
+
+  private static long checksum(File report) throws IOException {
+    return Files.getChecksum(report, new CRC32());
+  }
+
+  private static Map<String, Entry> read(DataInputStream in) throws IOException {
+    Map<String, Entry> entries = Maps.newHashMap();
+    if (in.readInt() != VERSION) {
+      return entries;
+    }
+    int entriesCount = in.readInt();
+    for (int i = 0; i < entriesCount; i++) {
+      String key = in.readUTF();
+      long size = in.readLong();
+      long lastModified = in.readLong();
+      long checksum = in.readLong();
+      UnitTestIndex index = new UnitTestIndex();
+      int classesCount = in.readInt();
+      for (int j = 0; j < classesCount; j++) {
+        UnitTestClassReport classReport = index.index(in.readUTF());
+        int resultsCount = in.readInt();
+        for (int k = 0; k < resultsCount; k++) {
+          classReport.add(readResult(in));
+        }
+      }
+      entries.put(key, new Entry(size, lastModified, checksum, index));
+    }
+    return entries;
+  }
+
+  private static UnitTestResult readResult(DataInputStream in) throws IOException {
+    return new UnitTestResult()
+        .setName(readNullableString(in))
+        .setStatus(readStatus(in))
+        .setMessage(readNullableString(in))
+        .setStackTrace(readNullableString(in))
+        .setDurationMilliseconds(in.readLong());
+  }
+
+  private void write(DataOutputStream out) throws IOException {
+    out.writeInt(VERSION);
+    out.writeInt(current.size());
+    for (Map.Entry<String, Entry> mapEntry : current.entrySet()) {
+      Entry entry = mapEntry.getValue();
+      out.writeUTF(mapEntry.getKey());
+      out.writeLong(entry.size);
+      out.writeLong(entry.lastModified);
+      out.writeLong(entry.checksum);
+      Map<String, UnitTestClassReport> classReports = entry.index.getIndexByClassname();
+      out.writeInt(classReports.size());
+      for (Map.Entry<String, UnitTestClassReport> classReport : classReports.entrySet()) {
+        out.writeUTF(classReport.getKey());
+        List<UnitTestResult> results = classReport.getValue().getResults();
+        out.writeInt(results.size());
+        for (UnitTestResult result : results) {
+          writeNullableString(out, result.getName());
+          writeNullableString(out, result.getStatus());
+          writeNullableString(out, result.getMessage());
+          writeNullableString(out, result.getStackTrace());
+          out.writeLong(result.getDurationMilliseconds());
+        }
+      }
+    }
+  }
+
+  private static String readStatus(DataInputStream in) throws IOException {
+    String status = readNullableString(in);
+    for (String knownStatus : new String[] {UnitTestResult.STATUS_OK, UnitTestResult.STATUS_ERROR, UnitTestResult.STATUS_FAILURE, UnitTestResult.STATUS_SKIPPED}) {
+      if (knownStatus.equals(status)) {
+        return knownStatus;
+      }
+    }
+    return status;
+  }
+
+  /**
+   * Strings are written as UTF-8 with length on 4 bytes, because stack traces might be longer than what {@link DataOutputStream#writeUTF(String)} supports.
+   */
+  private static void writeNullableString(DataOutputStream out, String s) throws IOException {
+    if (s == null) {
+      out.writeInt(-1);
+    } else {
+      byte[] bytes = s.getBytes("UTF-8");
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  private static String readNullableString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, "UTF-8");
+  }
+
+  private static class Entry {
+    private final long size;
+    private final long lastModified;
+    private final long checksum;
+    private final UnitTestIndex index;
+
+    Entry(long size, long lastModified, long checksum, UnitTestIndex index) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.checksum = checksum;
+      this.index = index;
+    }
+  }
+
+}
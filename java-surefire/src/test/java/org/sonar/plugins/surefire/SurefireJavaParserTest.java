@@ -20,7 +20,9 @@
 package org.sonar.plugins.surefire;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentMatcher;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -42,6 +44,7 @@ import org.sonar.plugins.java.api.JavaResourceLocator;
 import java.net.URISyntaxException;
 import java.util.Arrays;
 
+import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyDouble;
 import static org.mockito.Matchers.anyLong;
@@ -56,6 +59,9 @@ import static org.mockito.Mockito.when;
 
 public class SurefireJavaParserTest {
 
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
   private ResourcePerspectives perspectives;
   private JavaResourceLocator javaResourceLocator;
   private SurefireJavaParser parser;
@@ -97,6 +103,21 @@ public class SurefireJavaParserTest {
   }
 
 
+  @Test
+  public void should_register_tests_from_cache() throws Exception {
+    java.io.File reportsDir = getDir("multipleReports");
+    java.io.File cacheFile = new java.io.File(temp.getRoot(), "surefire.cache");
+
+    SensorContext context = mockContext();
+    parser.collect(context, reportsDir, cacheFile);
+    verify(context).saveMeasure(argThat(new IsResource(Scopes.FILE, Qualifiers.FILE, "ch.hortis.sonar.mvn.mc.MetricsCollectorRegistryTest")), eq(CoreMetrics.TESTS), eq(4d));
+    assertThat(cacheFile.isFile()).isTrue();
+
+    context = mockContext();
+    parser.collect(context, reportsDir, cacheFile);
+    verify(context).saveMeasure(argThat(new IsResource(Scopes.FILE, Qualifiers.FILE, "ch.hortis.sonar.mvn.mc.MetricsCollectorRegistryTest")), eq(CoreMetrics.TESTS), eq(4d));
+  }
+
   @Test
   public void should_store_zero_tests_when_directory_is_null_or_non_existing_or_a_file() throws Exception {
     Project project = mock(Project.class);
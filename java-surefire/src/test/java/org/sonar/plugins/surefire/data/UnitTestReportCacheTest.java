@@ -0,0 +1,99 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.plugins.surefire.data;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class UnitTestReportCacheTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void should_reuse_unchanged_reports() throws Exception {
+    File report = temp.newFile("TEST-Foo.xml");
+    Files.write("<testsuite/>", report, Charsets.UTF_8);
+    File cacheFile = new File(temp.getRoot(), "cache");
+
+    UnitTestReportCache cache = UnitTestReportCache.load(cacheFile);
+    assertThat(cache.get(report)).isNull();
+    UnitTestIndex index = new UnitTestIndex();
+    index.index("org.sonar.Foo")
+        .add(new UnitTestResult().setName("ok").setStatus(UnitTestResult.STATUS_OK).setDurationMilliseconds(5L))
+        .add(new UnitTestResult().setName("ko").setStatus(UnitTestResult.STATUS_ERROR).setMessage("message").setStackTrace("stack"));
+    cache.put(report, index);
+    cache.save(cacheFile);
+
+    UnitTestIndex cached = UnitTestReportCache.load(cacheFile).get(report);
+    assertThat(cached.getClassnames()).containsOnly("org.sonar.Foo");
+    UnitTestClassReport classReport = cached.get("org.sonar.Foo");
+    assertThat(classReport.getTests()).isEqualTo(2L);
+    assertThat(classReport.getErrors()).isEqualTo(1L);
+    assertThat(classReport.getDurationMilliseconds()).isEqualTo(5L);
+    UnitTestResult error = classReport.getResults().get(1);
+    assertThat(error.getName()).isEqualTo("ko");
+    assertThat(error.getStatus()).isSameAs(UnitTestResult.STATUS_ERROR);
+    assertThat(error.getMessage()).isEqualTo("message");
+    assertThat(error.getStackTrace()).isEqualTo("stack");
+    assertThat(classReport.getResults().get(0).getMessage()).isNull();
+  }
+
+  @Test
+  public void should_ignore_changed_reports() throws Exception {
+    File report = temp.newFile("TEST-Foo.xml");
+    Files.write("<testsuite/>", report, Charsets.UTF_8);
+    File cacheFile = new File(temp.getRoot(), "cache");
+    UnitTestReportCache cache = UnitTestReportCache.empty();
+    cache.put(report, new UnitTestIndex());
+    cache.save(cacheFile);
+
+    Files.write("<testsuite></testsuite>", report, Charsets.UTF_8);
+    assertThat(UnitTestReportCache.load(cacheFile).get(report)).isNull();
+  }
+
+  @Test
+  public void should_drop_entries_which_were_not_used() throws Exception {
+    File report = temp.newFile("TEST-Foo.xml");
+    File cacheFile = new File(temp.getRoot(), "cache");
+    UnitTestReportCache cache = UnitTestReportCache.empty();
+    cache.put(report, new UnitTestIndex());
+    cache.save(cacheFile);
+
+    UnitTestReportCache.load(cacheFile).save(cacheFile);
+    assertThat(UnitTestReportCache.load(cacheFile).get(report)).isNull();
+  }
+
+  @Test
+  public void should_be_empty_when_file_is_corrupted() throws Exception {
+    File report = temp.newFile("TEST-Foo.xml");
+    File cacheFile = temp.newFile("cache");
+    Files.write(new byte[] {0, 0, 0, 1, 0, 0, 0, 1}, cacheFile);
+    assertThat(UnitTestReportCache.load(cacheFile).get(report)).isNull();
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.jacoco;
+
+import org.jacoco.agent.rt.IAgent;
+import org.sonar.java.jacoco.JacocoController.JacocoControllerError;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Takes snapshots of probes of JaCoCo agent on test thread, which are serialized afterwards by {@link ExecutionDataWriter}.
+ * Classes of JaCoCo core are accessed by reflection, because agent relocates them into a package, which differs for each version of JaCoCo.
+ */
+class ExecutionDataCollector {
+
+  private final Object runtimeData;
+  private final Method collect;
+  private final Class<?> executionDataVisitorClass;
+  private final Class<?> sessionInfoVisitorClass;
+  private final Method getId;
+  private final Method getName;
+  private final Method getProbes;
+  private final Constructor<?> executionDataConstructor;
+  private final Constructor<?> writerConstructor;
+  private final Method visitSessionInfo;
+  private final Method visitClassExecution;
+  private final Method flush;
+
+  private ExecutionDataCollector(Object runtimeData, Method collect) throws ClassNotFoundException, NoSuchMethodException {
+    this.runtimeData = runtimeData;
+    this.collect = collect;
+    this.executionDataVisitorClass = collect.getParameterTypes()[0];
+    this.sessionInfoVisitorClass = collect.getParameterTypes()[1];
+    String dataPackage = executionDataVisitorClass.getPackage().getName();
+    ClassLoader classLoader = executionDataVisitorClass.getClassLoader();
+    Class<?> executionDataClass = Class.forName(dataPackage + ".ExecutionData", false, classLoader);
+    Class<?> sessionInfoClass = Class.forName(dataPackage + ".SessionInfo", false, classLoader);
+    Class<?> writerClass = Class.forName(dataPackage + ".ExecutionDataWriter", false, classLoader);
+    this.getId = executionDataClass.getMethod("getId");
+    this.getName = executionDataClass.getMethod("getName");
+    this.getProbes = executionDataClass.getMethod("getProbes");
+    this.executionDataConstructor = executionDataClass.getConstructor(long.class, String.class, boolean[].class);
+    this.writerConstructor = writerClass.getConstructor(OutputStream.class);
+    this.visitSessionInfo = writerClass.getMethod("visitSessionInfo", sessionInfoClass);
+    this.visitClassExecution = writerClass.getMethod("visitClassExecution", executionDataClass);
+    this.flush = writerClass.getMethod("flush");
+  }
+
+  /**
+   * @return null if runtime data of agent is not accessible, so that sessions should be serialized by agent
+   */
+  static ExecutionDataCollector create(IAgent agent) {
+    try {
+      Object runtimeData = agent.getClass().getMethod("getData").invoke(agent);
+      for (Method method : runtimeData.getClass().getMethods()) {
+        if ("collect".equals(method.getName()) && method.getParameterTypes().length == 3) {
+          return new ExecutionDataCollector(runtimeData, method);
+        }
+      }
+      return null;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Copies probes of current session, so that they can be serialized after reset.
+   */
+  ExecutionDataWriter.Session collect(boolean reset) {
+    Snapshot snapshot = new Snapshot();
+    Object visitor = Proxy.newProxyInstance(
+      executionDataVisitorClass.getClassLoader(),
+      new Class<?>[] {executionDataVisitorClass, sessionInfoVisitorClass},
+      snapshot);
+    invoke(collect, runtimeData, visitor, visitor, reset);
+    return snapshot;
+  }
+
+  private static Object invoke(Method method, Object target, Object... args) {
+    try {
+      return method.invoke(target, args);
+    } catch (IllegalAccessException e) {
+      throw new JacocoControllerError(e);
+    } catch (InvocationTargetException e) {
+      throw new JacocoControllerError(e.getCause());
+    }
+  }
+
+  private static Object newInstance(Constructor<?> constructor, Object... args) {
+    try {
+      return constructor.newInstance(args);
+    } catch (InstantiationException e) {
+      throw new JacocoControllerError(e);
+    } catch (IllegalAccessException e) {
+      throw new JacocoControllerError(e);
+    } catch (InvocationTargetException e) {
+      throw new JacocoControllerError(e.getCause());
+    }
+  }
+
+  /**
+   * Session info is immutable, so it is kept as is, whereas probes are copied.
+   */
+  private class Snapshot implements InvocationHandler, ExecutionDataWriter.Session {
+    private Object sessionInfo;
+    private final List<Long> ids = new ArrayList<Long>();
+    private final List<String> names = new ArrayList<String>();
+    private final List<boolean[]> probes = new ArrayList<boolean[]>();
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      if ("visitSessionInfo".equals(method.getName())) {
+        sessionInfo = args[0];
+      } else if ("visitClassExecution".equals(method.getName())) {
+        Object executionData = args[0];
+        ids.add((Long) ExecutionDataCollector.invoke(getId, executionData));
+        names.add((String) ExecutionDataCollector.invoke(getName, executionData));
+        probes.add(((boolean[]) ExecutionDataCollector.invoke(getProbes, executionData)).clone());
+      } else if ("equals".equals(method.getName())) {
+        return proxy == args[0];
+      } else if ("hashCode".equals(method.getName())) {
+        return System.identityHashCode(proxy);
+      } else if ("toString".equals(method.getName())) {
+        return "JaCoCo execution data snapshot";
+      }
+      return null;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+      Object writer = newInstance(writerConstructor, out);
+      ExecutionDataCollector.invoke(visitSessionInfo, writer, sessionInfo);
+      for (int i = 0; i < ids.size(); i++) {
+        Object executionData = newInstance(executionDataConstructor, ids.get(i), names.get(i), probes.get(i));
+        ExecutionDataCollector.invoke(visitClassExecution, writer, executionData);
+      }
+      ExecutionDataCollector.invoke(flush, writer);
+    }
+  }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.jacoco;
+
+import org.sonar.java.jacoco.JacocoController.JacocoControllerError;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends sessions to execution data file in a background thread, so that test threads don't wait for serialization and file I/O.
+ * Sessions are written in batches, in the order in which they were submitted.
+ * Writer stops on first failure, which is reported by next {@link #write(Session)} or by {@link #close()}.
+ */
+class ExecutionDataWriter {
+
+  /**
+   * Session of execution data, which is serialized by writer thread.
+   */
+  interface Session {
+    void writeTo(OutputStream out) throws IOException;
+  }
+
+  static final int DEFAULT_CAPACITY = 1024;
+
+  private static final Session END_OF_STREAM = new SerializedSession(new byte[0]);
+
+  /**
+   * Period of checks, that writer is still running, while waiting for space in queue.
+   */
+  private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+  private final File file;
+  private final BlockingQueue<Session> queue;
+  private final Thread thread;
+
+  private volatile Throwable failure;
+
+  ExecutionDataWriter(File file, int capacity) {
+    this.file = file;
+    this.queue = new ArrayBlockingQueue<Session>(capacity);
+    this.thread = new Thread("JaCoCo execution data writer") {
+      @Override
+      public void run() {
+        writeLoop();
+      }
+    };
+    thread.setDaemon(true);
+  }
+
+  void start() {
+    thread.start();
+  }
+
+  /**
+   * @param executionData session, already serialized by JaCoCo agent
+   */
+  void write(byte[] executionData) {
+    write(new SerializedSession(executionData));
+  }
+
+  /**
+   * Blocks if the writer falls behind by more than its capacity.
+   */
+  void write(Session session) {
+    checkFailure();
+    try {
+      while (!queue.offer(session, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        checkFailure();
+        if (!thread.isAlive()) {
+          throw new JacocoControllerError("JaCoCo execution data writer is not running");
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JacocoControllerError(e);
+    }
+  }
+
+  /**
+   * Writes all pending sessions and stops background thread.
+   */
+  void close() {
+    try {
+      boolean offered = false;
+      while (!offered && thread.isAlive()) {
+        offered = queue.offer(END_OF_STREAM, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      }
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    checkFailure();
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      throw new JacocoControllerError(failure);
+    }
+  }
+
+  /**
+   * Failure is only logged, because exceptions thrown by shutdown hooks are not reported by JVM.
+   */
+  Thread shutdownHook() {
+    return new Thread("JaCoCo execution data writer shutdown") {
+      @Override
+      public void run() {
+        try {
+          close();
+        } catch (JacocoControllerError e) {
+          System.err.println("Unable to write JaCoCo execution data to " + file);
+          e.printStackTrace();
+        }
+      }
+    };
+  }
+
+  private void writeLoop() {
+    List<Session> batch = new ArrayList<Session>();
+    boolean endOfStream = false;
+    while (!endOfStream) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        return;
+      }
+      queue.drainTo(batch);
+      endOfStream = batch.get(batch.size() - 1) == END_OF_STREAM;
+      try {
+        append(batch);
+      } catch (IOException e) {
+        failure = e;
+        return;
+      } catch (RuntimeException e) {
+        failure = e;
+        return;
+      } catch (JacocoControllerError e) {
+        failure = e;
+        return;
+      }
+      batch.clear();
+    }
+  }
+
+  void append(List<Session> batch) throws IOException {
+    OutputStream out = new BufferedOutputStream(new FileOutputStream(file, true));
+    try {
+      for (Session session : batch) {
+        session.writeTo(out);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  private static class SerializedSession implements Session {
+    private final byte[] executionData;
+
+    SerializedSession(byte[] executionData) {
+      this.executionData = executionData;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+      out.write(executionData);
+    }
+  }
+
+}
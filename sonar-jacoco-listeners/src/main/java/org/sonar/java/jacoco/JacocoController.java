@@ -22,15 +22,40 @@ package org.sonar.java.jacoco;
 import org.jacoco.agent.rt.IAgent;
 import org.jacoco.agent.rt.RT;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 class JacocoController {
 
   private static final String ERROR = "Unable to access JaCoCo Agent - make sure that you use JaCoCo and version not lower than 0.6.2.";
 
+  /**
+   * Separates names of tests, which were running at the same time, in a session id.
+   * Must be kept in sync with {@code org.sonar.plugins.jacoco.ExecutionDataVisitor}.
+   */
+  static final String SESSION_ID_SEPARATOR = "\n";
+
+  /**
+   * When set, sessions are written asynchronously to the given file instead of being dumped by JaCoCo agent.
+   * Should be used with agent option "dumponexit=false" or with a file which differs from the one of the agent.
+   */
+  static final String ASYNC_DESTFILE_PROPERTY = "sonar.jacoco.listener.destfile";
+
   private final IAgent agent;
 
-  private boolean testStarted;
+  private final ExecutionDataWriter writer;
+
+  /**
+   * Null, when sessions should be serialized by agent.
+   */
+  private final ExecutionDataCollector collector;
+
+  /**
+   * Tests currently running in this JVM, in order of start.
+   */
+  private final Set<String> runningTests = new LinkedHashSet<String>();
 
   private static JacocoController singleton;
 
@@ -49,29 +74,68 @@ class JacocoController {
     } catch (Exception e) {
       throw new JacocoControllerError(ERROR, e);
     }
+    String destfile = System.getProperty(ASYNC_DESTFILE_PROPERTY);
+    if (destfile == null) {
+      this.writer = null;
+      this.collector = null;
+    } else {
+      this.writer = new ExecutionDataWriter(new File(destfile), ExecutionDataWriter.DEFAULT_CAPACITY);
+      this.collector = ExecutionDataCollector.create(agent);
+      writer.start();
+      Runtime.getRuntime().addShutdownHook(writer.shutdownHook());
+    }
   }
 
   JacocoController(IAgent agent) {
+    this(agent, null);
+  }
+
+  JacocoController(IAgent agent, ExecutionDataWriter writer) {
     this.agent = agent;
+    this.writer = writer;
+    this.collector = writer == null ? null : ExecutionDataCollector.create(agent);
   }
 
+  /**
+   * Coverage is dumped at each start and finish of a test, so every dumped session covers an interval during which the set of running
+   * tests doesn't change. Session is attributed to all tests of this set, thus when tests are executed in parallel coverage of each test
+   * is a superset of its real coverage, and when they are executed sequentially coverage is exact.
+   */
   public synchronized void onTestStart(String name) {
-    if (testStarted) {
-      throw new JacocoControllerError("Looks like several tests executed in parallel in the same JVM, thus coverage per test can't be recorded correctly.");
-    }
-    // Dump coverage between tests
-    dump("");
-    testStarted = true;
+    // Dump coverage between tests or for tests running in parallel
+    dump(sessionId());
+    runningTests.add(name);
   }
 
   public synchronized void onTestFinish(String name) {
-    // Dump coverage for test
-    dump(name);
-    testStarted = false;
+    runningTests.add(name);
+    // Dump coverage for test and for tests running in parallel
+    dump(sessionId());
+    runningTests.remove(name);
+  }
+
+  private String sessionId() {
+    StringBuilder sb = new StringBuilder();
+    for (String test : runningTests) {
+      if (sb.length() > 0) {
+        sb.append(SESSION_ID_SEPARATOR);
+      }
+      sb.append(test);
+    }
+    return sb.toString();
   }
 
   private void dump(String sessionId) {
     agent.setSessionId(sessionId);
+    if (writer != null) {
+      if (collector != null) {
+        // Only snapshot of probes is taken on test thread, serialization and file I/O are done by writer
+        writer.write(collector.collect(true));
+      } else {
+        writer.write(agent.getExecutionData(true));
+      }
+      return;
+    }
     try {
       agent.dump(true);
     } catch (IOException e) {
@@ -0,0 +1,104 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.jacoco;
+
+import org.jacoco.agent.rt.IAgent;
+import org.jacoco.agent.rt.internal_932a715.core.data.ExecutionData;
+import org.jacoco.agent.rt.internal_932a715.core.data.ExecutionDataReader;
+import org.jacoco.agent.rt.internal_932a715.core.data.IExecutionDataVisitor;
+import org.jacoco.agent.rt.internal_932a715.core.data.ISessionInfoVisitor;
+import org.jacoco.agent.rt.internal_932a715.core.data.SessionInfo;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+public class ExecutionDataCollectorTest {
+
+  @Test
+  public void should_not_be_created_when_runtime_data_not_accessible() {
+    assertNull(ExecutionDataCollector.create(mock(IAgent.class)));
+  }
+
+  @Test
+  public void snapshot_should_be_serialized_as_by_agent() throws Exception {
+    FakeAgent agent = new FakeAgent();
+    agent.setSessionId("test");
+    boolean[] probesA = agent.getData().getExecutionData(1L, "A", 3).getProbes();
+    boolean[] probesB = agent.getData().getExecutionData(2L, "B", 2).getProbes();
+    probesA[1] = true;
+    probesB[0] = true;
+    ExecutionDataCollector collector = ExecutionDataCollector.create(agent);
+    assertNotNull(collector);
+
+    Sessions expected = read(agent.getExecutionData(false));
+    ExecutionDataWriter.Session snapshot = collector.collect(true);
+    assertFalse(probesA[1]);
+    probesB[1] = true;
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    snapshot.writeTo(out);
+    Sessions actual = read(out.toByteArray());
+    assertEquals(expected.ids, actual.ids);
+    assertEquals(expected.names, actual.names);
+    assertEquals(expected.probes.size(), actual.probes.size());
+    for (int i = 0; i < expected.probes.size(); i++) {
+      assertEquals(Arrays.toString(expected.probes.get(i)), Arrays.toString(actual.probes.get(i)));
+    }
+    assertEquals("[true, false]", Arrays.toString(actual.probes.get(actual.names.indexOf("B"))));
+  }
+
+  private static Sessions read(byte[] executionData) throws IOException {
+    Sessions sessions = new Sessions();
+    ExecutionDataReader reader = new ExecutionDataReader(new ByteArrayInputStream(executionData));
+    reader.setSessionInfoVisitor(sessions);
+    reader.setExecutionDataVisitor(sessions);
+    reader.read();
+    return sessions;
+  }
+
+  private static class Sessions implements ISessionInfoVisitor, IExecutionDataVisitor {
+    final List<String> ids = new ArrayList<String>();
+    final List<String> names = new ArrayList<String>();
+    final List<boolean[]> probes = new ArrayList<boolean[]>();
+
+    @Override
+    public void visitSessionInfo(SessionInfo info) {
+      ids.add(info.getId());
+    }
+
+    @Override
+    public void visitClassExecution(ExecutionData data) {
+      names.add(data.getName());
+      probes.add(data.getProbes());
+    }
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.jacoco;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.java.jacoco.JacocoController.JacocoControllerError;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+
+public class ExecutionDataWriterTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Test
+  public void should_append_sessions_in_order() throws Exception {
+    File file = temp.newFile("jacoco.exec");
+    ExecutionDataWriter writer = new ExecutionDataWriter(file, 2);
+    writer.start();
+    writer.write(new byte[] {1, 2});
+    writer.write(new byte[] {3});
+    writer.write(new byte[] {4, 5, 6});
+    writer.close();
+    writer = new ExecutionDataWriter(file, 2);
+    writer.start();
+    writer.write(new byte[] {7});
+    writer.shutdownHook().run();
+    assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6, 7}, read(file));
+  }
+
+  @Test
+  public void should_report_failure_of_last_batch_on_close() throws Exception {
+    ExecutionDataWriter writer = new ExecutionDataWriter(temp.newFolder(), 1);
+    writer.start();
+    writer.write(new byte[] {1});
+    thrown.expect(JacocoControllerError.class);
+    writer.close();
+  }
+
+  @Test
+  public void should_fail_on_next_write_when_file_can_not_be_written() throws Exception {
+    ExecutionDataWriter writer = new ExecutionDataWriter(temp.newFolder(), 1);
+    writer.start();
+    writer.write(new byte[] {1});
+    try {
+      writer.close();
+      fail();
+    } catch (JacocoControllerError e) {
+      // expected
+    }
+    thrown.expect(JacocoControllerError.class);
+    writer.write(new byte[] {2});
+  }
+
+  @Test(timeout = 10000)
+  public void should_not_block_when_writer_died() throws Exception {
+    ExecutionDataWriter writer = new ExecutionDataWriter(temp.newFile("jacoco.exec"), 1) {
+      @Override
+      void append(List<Session> batch) {
+        throw new IllegalStateException();
+      }
+    };
+    writer.start();
+    try {
+      for (int i = 0; i < 10; i++) {
+        writer.write(new byte[] {1});
+      }
+      fail();
+    } catch (JacocoControllerError e) {
+      // expected
+    }
+    thrown.expect(JacocoControllerError.class);
+    writer.close();
+  }
+
+  @Test
+  public void shutdown_hook_should_not_throw_failure() throws Exception {
+    ExecutionDataWriter writer = new ExecutionDataWriter(temp.newFolder(), 1);
+    writer.start();
+    writer.write(new byte[] {1});
+    writer.shutdownHook().run();
+  }
+
+  private static byte[] read(File file) throws IOException {
+    byte[] result = new byte[(int) file.length()];
+    InputStream in = new FileInputStream(file);
+    try {
+      int offset = 0;
+      while (offset < result.length) {
+        offset += in.read(result, offset, result.length - offset);
+      }
+    } finally {
+      in.close();
+    }
+    return result;
+  }
+
+}
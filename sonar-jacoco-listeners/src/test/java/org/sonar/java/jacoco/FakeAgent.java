@@ -0,0 +1,77 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.java.jacoco;
+
+import org.jacoco.agent.rt.IAgent;
+import org.jacoco.agent.rt.internal_932a715.core.data.ExecutionDataWriter;
+import org.jacoco.agent.rt.internal_932a715.core.runtime.RuntimeData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Agent with real runtime data, which serializes sessions in the same way as JaCoCo agent.
+ */
+public class FakeAgent implements IAgent {
+
+  private final RuntimeData data = new RuntimeData();
+
+  public RuntimeData getData() {
+    return data;
+  }
+
+  @Override
+  public String getVersion() {
+    return "fake";
+  }
+
+  @Override
+  public String getSessionId() {
+    return data.getSessionId();
+  }
+
+  @Override
+  public void setSessionId(String id) {
+    data.setSessionId(id);
+  }
+
+  @Override
+  public void reset() {
+    data.reset();
+  }
+
+  @Override
+  public byte[] getExecutionData(boolean reset) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try {
+      ExecutionDataWriter writer = new ExecutionDataWriter(buffer);
+      data.collect(writer, writer, reset);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return buffer.toByteArray();
+  }
+
+  @Override
+  public void dump(boolean reset) {
+    throw new UnsupportedOperationException();
+  }
+
+}
@@ -30,9 +30,11 @@ import org.sonar.java.jacoco.JacocoController.JacocoControllerError;
 
 import java.io.IOException;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -77,11 +79,48 @@ public class JacocoControllerTest {
   }
 
   @Test
-  public void should_throw_exception_when_two_tests_started_in_parallel() {
+  public void should_hand_sessions_to_writer() throws Exception {
+    byte[] executionData = new byte[] {1, 2, 3};
+    when(agent.getExecutionData(true)).thenReturn(executionData);
+    ExecutionDataWriter writer = mock(ExecutionDataWriter.class);
+    jacoco = new JacocoController(agent, writer);
+    jacoco.onTestStart("test");
+    InOrder inOrder = Mockito.inOrder(agent, writer);
+    inOrder.verify(agent).setSessionId("");
+    inOrder.verify(agent).getExecutionData(true);
+    inOrder.verify(writer).write(executionData);
+    verifyNoMoreInteractions(agent, writer);
+  }
+
+  @Test
+  public void should_hand_snapshots_to_writer_when_runtime_data_accessible() throws Exception {
+    IAgent agent = new FakeAgent();
+    ExecutionDataWriter writer = mock(ExecutionDataWriter.class);
+    jacoco = new JacocoController(agent, writer);
+    jacoco.onTestStart("test");
+    verify(writer).write(any(ExecutionDataWriter.Session.class));
+    verifyNoMoreInteractions(writer);
+  }
+
+  @Test
+  public void should_attribute_coverage_to_all_tests_executed_in_parallel() throws Exception {
     jacoco.onTestStart("test1");
-    thrown.expect(JacocoControllerError.class);
-    thrown.expectMessage("Looks like several tests executed in parallel in the same JVM, thus coverage per test can't be recorded correctly.");
     jacoco.onTestStart("test2");
+    jacoco.onTestFinish("test1");
+    jacoco.onTestFinish("test2");
+    jacoco.onTestStart("test3");
+    InOrder inOrder = Mockito.inOrder(agent);
+    inOrder.verify(agent).setSessionId("");
+    inOrder.verify(agent).dump(true);
+    inOrder.verify(agent).setSessionId("test1");
+    inOrder.verify(agent).dump(true);
+    inOrder.verify(agent).setSessionId("test1\ntest2");
+    inOrder.verify(agent).dump(true);
+    inOrder.verify(agent).setSessionId("test2");
+    inOrder.verify(agent).dump(true);
+    inOrder.verify(agent).setSessionId("");
+    inOrder.verify(agent).dump(true);
+    verifyNoMoreInteractions(agent);
   }
 
 }
@@ -19,6 +19,7 @@
  */
 package org.sonar.plugins.java.bridges;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.sonar.api.checks.CheckFactory;
 import org.sonar.api.component.ResourcePerspectives;
@@ -36,6 +37,7 @@ import org.sonar.squidbridge.api.CheckMessage;
 import org.sonar.squidbridge.api.SourceFile;
 
 import java.io.File;
+import java.util.Map;
 import java.util.Set;
 
 public class ChecksBridge {
@@ -44,11 +46,18 @@ public class ChecksBridge {
   private final ResourcePerspectives resourcePerspectives;
   private final RulesProfile rulesProfile;
   private Set<Directory> dirsWithoutPackageInfo;
+  private final Map<Object, RuleKey> ruleKeyByCheck = Maps.newIdentityHashMap();
 
   public ChecksBridge(CheckFactory checkFactory, ResourcePerspectives resourcePerspectives, RulesProfile rulesProfile) {
     this.checkFactory = checkFactory;
     this.resourcePerspectives = resourcePerspectives;
     this.rulesProfile = rulesProfile;
+    for (Object check : checkFactory.getChecks()) {
+      ActiveRule rule = checkFactory.getActiveRule(check);
+      if (rule != null) {
+        ruleKeyByCheck.put(check, rule.getRule().ruleKey());
+      }
+    }
   }
 
   public void reportIssues(SourceFile squidFile, Resource sonarFile) {
@@ -62,12 +71,11 @@ public class ChecksBridge {
           // VisitorsBridge uses RuleKey
           ruleKey = (RuleKey) check;
         } else {
-          ActiveRule rule = checkFactory.getActiveRule(checkMessage.getCheck());
-          if (rule == null) {
+          ruleKey = ruleKeyByCheck.get(check);
+          if (ruleKey == null) {
             // rule not active
             continue;
           }
-          ruleKey = rule.getRule().ruleKey();
         }
         Issue issue = issuable.newIssueBuilder()
             .ruleKey(ruleKey)
@@ -19,6 +19,8 @@
  */
 package org.sonar.plugins.java.bridges;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.SensorContext;
@@ -46,6 +48,11 @@ import org.sonar.java.checks.CycleBetweenPackagesCheck;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class DesignBridge {
 
@@ -88,8 +95,43 @@ public class DesignBridge {
 
     profiler.stop();
 
-    for (Resource sonarPackage : directories) {
-      onPackage(sonarPackage);
+    savePackagesDesign(directories);
+  }
+
+  /**
+   * Design of packages is computed in parallel, because packages are independent,
+   * but measures are saved from current thread and in order of packages.
+   */
+  private void savePackagesDesign(Collection<Resource> directories) {
+    ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads(directories.size()));
+    try {
+      List<Future<PackageDesign>> packageDesigns = Lists.newArrayList();
+      for (Resource sonarPackage : directories) {
+        Collection<Resource> squidFiles = resourceMapping.files((Directory) sonarPackage);
+        if (squidFiles != null && !squidFiles.isEmpty()) {
+          packageDesigns.add(executor.submit(new PackageDesignAnalysis(sonarPackage, squidFiles)));
+        }
+      }
+      for (Future<PackageDesign> packageDesign : packageDesigns) {
+        savePackageDesign(get(packageDesign));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static int numberOfThreads(int packages) {
+    return Math.max(1, Math.min(packages, Runtime.getRuntime().availableProcessors()));
+  }
+
+  private static PackageDesign get(Future<PackageDesign> packageDesign) {
+    try {
+      return packageDesign.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Throwables.propagate(e);
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
     }
   }
 
@@ -99,25 +141,13 @@ public class DesignBridge {
     }
   }
 
-  private void onPackage(Resource sonarPackage) {
-    Collection<Resource> squidFiles = resourceMapping.files((Directory) sonarPackage);
-    if (squidFiles != null && !squidFiles.isEmpty()) {
-
-      IncrementalCyclesAndFESSolver<Resource> cycleDetector = new IncrementalCyclesAndFESSolver<Resource>(graph, squidFiles);
-      Set<Cycle> cycles = cycleDetector.getCycles();
-
-      MinimumFeedbackEdgeSetSolver solver = new MinimumFeedbackEdgeSetSolver(cycles);
-      Set<Edge> feedbackEdges = solver.getEdges();
-      int tangles = solver.getWeightOfFeedbackEdgeSet();
-
-      savePositiveMeasure(sonarPackage, CoreMetrics.FILE_CYCLES, cycles.size());
-      savePositiveMeasure(sonarPackage, CoreMetrics.FILE_FEEDBACK_EDGES, feedbackEdges.size());
-      savePositiveMeasure(sonarPackage, CoreMetrics.FILE_TANGLES, tangles);
-      savePositiveMeasure(sonarPackage, CoreMetrics.FILE_EDGES_WEIGHT, getEdgesWeight(squidFiles));
-
-      String dsmJson = serializeDsm(graph, squidFiles, feedbackEdges);
-      context.saveMeasure(sonarPackage, new Measure(CoreMetrics.DEPENDENCY_MATRIX, dsmJson));
-    }
+  private void savePackageDesign(PackageDesign packageDesign) {
+    Resource sonarPackage = packageDesign.sonarPackage;
+    savePositiveMeasure(sonarPackage, CoreMetrics.FILE_CYCLES, packageDesign.cycles);
+    savePositiveMeasure(sonarPackage, CoreMetrics.FILE_FEEDBACK_EDGES, packageDesign.feedbackEdges);
+    savePositiveMeasure(sonarPackage, CoreMetrics.FILE_TANGLES, packageDesign.tangles);
+    savePositiveMeasure(sonarPackage, CoreMetrics.FILE_EDGES_WEIGHT, packageDesign.edgesWeight);
+    context.saveMeasure(sonarPackage, new Measure(CoreMetrics.DEPENDENCY_MATRIX, packageDesign.dsmJson));
   }
 
   private double getEdgesWeight(Collection<Resource> resources) {
@@ -150,6 +180,49 @@ public class DesignBridge {
     }
   }
 
+  /**
+   * Only reads dependency graph, so can be executed concurrently for different packages.
+   */
+  private class PackageDesignAnalysis implements Callable<PackageDesign> {
+    private final Resource sonarPackage;
+    private final Collection<Resource> squidFiles;
+
+    PackageDesignAnalysis(Resource sonarPackage, Collection<Resource> squidFiles) {
+      this.sonarPackage = sonarPackage;
+      this.squidFiles = squidFiles;
+    }
+
+    @Override
+    public PackageDesign call() {
+      IncrementalCyclesAndFESSolver<Resource> cycleDetector = new IncrementalCyclesAndFESSolver<Resource>(graph, squidFiles);
+      Set<Cycle> cycles = cycleDetector.getCycles();
+
+      MinimumFeedbackEdgeSetSolver solver = new MinimumFeedbackEdgeSetSolver(cycles);
+      Set<Edge> feedbackEdges = solver.getEdges();
+
+      PackageDesign packageDesign = new PackageDesign(sonarPackage);
+      packageDesign.cycles = cycles.size();
+      packageDesign.feedbackEdges = feedbackEdges.size();
+      packageDesign.tangles = solver.getWeightOfFeedbackEdgeSet();
+      packageDesign.edgesWeight = getEdgesWeight(squidFiles);
+      packageDesign.dsmJson = serializeDsm(graph, squidFiles, feedbackEdges);
+      return packageDesign;
+    }
+  }
+
+  private static class PackageDesign {
+    private final Resource sonarPackage;
+    private int cycles;
+    private int feedbackEdges;
+    private int tangles;
+    private double edgesWeight;
+    private String dsmJson;
+
+    PackageDesign(Resource sonarPackage) {
+      this.sonarPackage = sonarPackage;
+    }
+  }
+
   private void saveDependencies() {
     for (Resource resource : graph.getVertices()) {
       for (Dependency dependency : graph.getOutgoingEdges(resource)) {
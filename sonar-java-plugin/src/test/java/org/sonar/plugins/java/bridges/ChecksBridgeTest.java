@@ -0,0 +1,77 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012 SonarSource
+ * dev@sonar.codehaus.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package org.sonar.plugins.java.bridges;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.sonar.api.checks.AnnotationCheckFactory;
+import org.sonar.api.component.ResourcePerspectives;
+import org.sonar.api.issue.Issuable;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.profiles.RulesProfile;
+import org.sonar.api.resources.Resource;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rules.Rule;
+import org.sonar.java.checks.CheckList;
+import org.sonar.java.checks.ParsingErrorCheck;
+import org.sonar.squidbridge.api.CheckMessage;
+import org.sonar.squidbridge.api.SourceFile;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChecksBridgeTest {
+
+  @Test
+  public void issues_are_reported_for_active_rules() {
+    RulesProfile profile = RulesProfile.create();
+    profile.activateRule(Rule.create(CheckList.REPOSITORY_KEY, "ParsingError"), null);
+    AnnotationCheckFactory checkFactory = AnnotationCheckFactory.create(profile, CheckList.REPOSITORY_KEY, ImmutableList.of(ParsingErrorCheck.class));
+    Object activeCheck = checkFactory.getChecks().iterator().next();
+    ResourcePerspectives resourcePerspectives = mock(ResourcePerspectives.class);
+    Resource sonarFile = mock(Resource.class);
+    Issuable issuable = mock(Issuable.class, Mockito.RETURNS_DEEP_STUBS);
+    when(resourcePerspectives.as(Issuable.class, sonarFile)).thenReturn(issuable);
+
+    SourceFile squidFile = new SourceFile("File.java");
+    squidFile.log(message(activeCheck, 1));
+    squidFile.log(message(RuleKey.of(CheckList.REPOSITORY_KEY, "S00001"), 2));
+    squidFile.log(message(new Object(), 3));
+
+    ChecksBridge checksBridge = new ChecksBridge(checkFactory, resourcePerspectives, profile);
+    checksBridge.reportIssues(squidFile, sonarFile);
+    verify(issuable, times(2)).addIssue(any(Issue.class));
+    verify(issuable.newIssueBuilder()).ruleKey(RuleKey.of(CheckList.REPOSITORY_KEY, "ParsingError"));
+    verify(issuable.newIssueBuilder()).ruleKey(RuleKey.of(CheckList.REPOSITORY_KEY, "S00001"));
+    assertThat(squidFile.getCheckMessages()).isEmpty();
+  }
+
+  private static CheckMessage message(Object check, int line) {
+    CheckMessage message = new CheckMessage(check, "message {0}", line);
+    message.setLine(line);
+    return message;
+  }
+
+}
@@ -19,11 +19,17 @@
  */
 package org.sonar.plugins.java.bridges;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.sonar.api.batch.SensorContext;
 import org.sonar.api.component.ResourcePerspectives;
 import org.sonar.api.design.Dependency;
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.measures.Measure;
 import org.sonar.api.measures.Metric;
+import org.sonar.api.resources.Directory;
 import org.sonar.api.resources.Project;
 import org.sonar.api.resources.Resource;
 import org.sonar.graph.DirectedGraph;
@@ -31,9 +37,12 @@ import org.sonar.java.bytecode.visitor.ResourceMapping;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class DesignBridgeTest {
 
@@ -49,4 +58,34 @@ public class DesignBridgeTest {
     verify(context, times(4)).saveMeasure(any(Resource.class), any(Metric.class), anyDouble());
 
   }
+
+  @Test
+  public void design_of_packages_is_saved_in_order_of_packages() throws Exception {
+    SensorContext context = mock(SensorContext.class);
+    DirectedGraph<Resource, Dependency> graph = new DirectedGraph<Resource, Dependency>();
+    ResourceMapping resourceMapping = mock(ResourceMapping.class);
+    Directory package1 = mock(Directory.class);
+    Directory package2 = mock(Directory.class);
+    Resource a = mock(Resource.class);
+    Resource b = mock(Resource.class);
+    Resource c = mock(Resource.class);
+    graph.addEdge(new Dependency(a, b).setWeight(1));
+    graph.addEdge(new Dependency(b, a).setWeight(2));
+    graph.addEdge(new Dependency(a, c).setWeight(1));
+    when(resourceMapping.directories()).thenReturn(ImmutableSet.<Resource>of(package1, package2));
+    when(resourceMapping.files(package1)).thenReturn(ImmutableList.of(a, b));
+    when(resourceMapping.files(package2)).thenReturn(ImmutableList.of(c));
+
+    new DesignBridge(context, graph, resourceMapping, mock(ResourcePerspectives.class)).saveDesign(mock(Project.class));
+
+    InOrder inOrder = inOrder(context);
+    inOrder.verify(context).saveMeasure(package1, CoreMetrics.FILE_CYCLES, 1.0);
+    inOrder.verify(context).saveMeasure(package1, CoreMetrics.FILE_FEEDBACK_EDGES, 1.0);
+    inOrder.verify(context).saveMeasure(package1, CoreMetrics.FILE_TANGLES, 1.0);
+    inOrder.verify(context).saveMeasure(package1, CoreMetrics.FILE_EDGES_WEIGHT, 4.0);
+    inOrder.verify(context).saveMeasure(eq(package1), any(Measure.class));
+    inOrder.verify(context).saveMeasure(package2, CoreMetrics.FILE_CYCLES, 0.0);
+    inOrder.verify(context).saveMeasure(package2, CoreMetrics.FILE_EDGES_WEIGHT, 0.0);
+    inOrder.verify(context).saveMeasure(eq(package2), any(Measure.class));
+  }
 }